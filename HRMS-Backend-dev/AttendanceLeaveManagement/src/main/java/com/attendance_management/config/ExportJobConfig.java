@@ -0,0 +1,26 @@
+package com.attendance_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExportJobConfig {
+
+    /**
+     * Workers generating export files in the background. Jobs beyond the queue
+     * capacity are rejected rather than piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor(@Value("${export.jobs.worker-threads:2}") int workerThreads,
+                                                    @Value("${export.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-job-");
+        executor.initialize();
+        return executor;
+    }
+}
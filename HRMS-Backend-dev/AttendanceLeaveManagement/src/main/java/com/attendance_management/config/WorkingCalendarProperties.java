@@ -0,0 +1,27 @@
+package com.attendance_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar")
+public class WorkingCalendarProperties {
+    private String defaultLocation = "DEFAULT";
+    private Set<DayOfWeek> weeklyOffs = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    // Overrides of weeklyOffs keyed by location
+    private Map<String, Set<DayOfWeek>> locationWeeklyOffs = new HashMap<>();
+    // Cached year bitmaps are rebuilt after this long so holiday edits made elsewhere are picked up
+    private long cacheTtlMinutes = 60;
+
+    public Set<DayOfWeek> weeklyOffsFor(String location) {
+        return locationWeeklyOffs.getOrDefault(location, weeklyOffs);
+    }
+}
@@ -2,19 +2,26 @@ package com.attendance_management.controller;
 
 import com.attendance_management.model.LeaveRequest;
 import com.attendance_management.model.LeaveStatus;
+import com.attendance_management.dto.AttendanceMonthDTO;
 import com.attendance_management.dto.LeaveBalanceDTO;
 import com.attendance_management.dto.LeaveRequestDTO;
 import com.attendance_management.dto.LeaveResponseDTO;
 import com.attendance_management.model.Attendance;
 import com.attendance_management.service.LeaveService;
 import com.attendance_management.service.AttendanceService;
+import com.attendance_management.service.AttendanceCalendarService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,6 +30,10 @@ import java.util.stream.Collectors;
 public class EmployeeController {
     private final LeaveService leaveService;
     private final AttendanceService attendanceService;
+    private final AttendanceCalendarService attendanceCalendarService;
+
+    @Value("${attendance.calendar.closed-month-max-age-seconds:86400}")
+    private long closedMonthMaxAgeSeconds;
 
     // Leave Management Endpoints
     @PostMapping("/leave/apply")
@@ -65,4 +76,24 @@ public class EmployeeController {
         return ResponseEntity.ok(attendanceService.getEmployeeAttendance(employeeId));
     }
 
+    // Packed attendance of one month for the calendar, e.g. /attendance/42/calendar/2024-05
+    @GetMapping("/attendance/{employeeId}/calendar/{month}")
+    public ResponseEntity<AttendanceMonthDTO> getAttendanceMonth(
+            @PathVariable Long employeeId,
+            @PathVariable YearMonth month,
+            WebRequest request) {
+        AttendanceMonthDTO dto = attendanceCalendarService.getMonth(employeeId, month);
+        String etag = "\"" + dto.getBits() + (dto.isClosed() ? "-c" : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CacheControl cacheControl = dto.isClosed()
+            ? CacheControl.maxAge(closedMonthMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate()
+            : CacheControl.noCache().cachePrivate();
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(etag)
+            .body(dto);
+    }
+
 }
\ No newline at end of file
@@ -1,22 +1,32 @@
 package com.attendance_management.controller;
 
+import com.attendance_management.dto.ExportJobDTO;
+import com.attendance_management.service.ExportJobService;
 import com.attendance_management.service.ExportService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/export")
 public class ExportController {
 
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
 
-    public ExportController(ExportService exportService) {
+    public ExportController(ExportService exportService, ExportJobService exportJobService) {
         this.exportService = exportService;
+        this.exportJobService = exportJobService;
     }
 
     // Exports attendance and leaves for all employees for a given date range
@@ -51,4 +61,80 @@ public class ExportController {
                 .headers(headers)
                 .body(fileContent);
     }
+
+    // Streams the export for all employees; heap use does not grow with the employee count
+    @GetMapping(value = "/attendance-leaves/stream", produces = XLSX)
+    public ResponseEntity<StreamingResponseBody> streamAttendanceAndLeavesForAll(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return streamExport(null, startDate, endDate, "attendance_leaves.xlsx");
+    }
+
+    // Streams the export for a specific employee
+    @GetMapping(value = "/attendance-leaves/stream/{employeeId}", produces = XLSX)
+    public ResponseEntity<StreamingResponseBody> streamAttendanceAndLeavesForEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return streamExport(employeeId, startDate, endDate, "attendance_leaves_" + employeeId + ".xlsx");
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamExport(Long employeeId, LocalDate startDate,
+                                                               LocalDate endDate, String fileName) {
+        exportService.validateExport(employeeId, startDate, endDate);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDispositionFormData("attachment", fileName);
+        headers.setContentType(MediaType.parseMediaType(XLSX));
+
+        StreamingResponseBody body = out -> exportService.streamAttendanceAndLeaves(employeeId, startDate, endDate, out);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    // Queues an export job, or returns a cached result or the job already running for the same export
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobDTO> submitExportJob(
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(exportJobService.submit(employeeId, startDate, endDate));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ExportJobDTO> getExportJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(exportJobService.getJob(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Downloads the result of a completed export job from the spool directory
+    @GetMapping(value = "/jobs/{jobId}/download", produces = XLSX)
+    public ResponseEntity<StreamingResponseBody> downloadExportJob(@PathVariable String jobId) throws Exception {
+        Path file;
+        try {
+            file = exportJobService.getResultFile(jobId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDispositionFormData("attachment", "attendance_leaves.xlsx");
+        headers.setContentType(MediaType.parseMediaType(XLSX));
+        headers.setContentLength(Files.size(file));
+
+        StreamingResponseBody body = out -> exportJobService.transferTo(file, out);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
 }
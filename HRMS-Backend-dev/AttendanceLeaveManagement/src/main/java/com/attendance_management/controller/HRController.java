@@ -1,15 +1,26 @@
 package com.attendance_management.controller;
 
+import com.attendance_management.dto.AttendanceAggregateDTO;
 import com.attendance_management.model.*;
 import com.attendance_management.service.LeaveService;
 import com.attendance_management.service.AttendanceService;
+import com.attendance_management.service.HolidayService;
+import com.attendance_management.service.DailyAttendanceRollupService;
+import com.attendance_management.service.AttendanceAggregateService;
+import com.attendance_management.service.AttendanceDataVersions;
+import com.attendance_management.service.AttendanceStreamService;
+import com.attendance_management.service.OpenSessionSweeper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/hr")
@@ -17,6 +28,12 @@ import java.util.List;
 public class HRController {
     private final LeaveService leaveService;
     private final AttendanceService attendanceService;
+    private final HolidayService holidayService;
+    private final DailyAttendanceRollupService dailyAttendanceRollupService;
+    private final OpenSessionSweeper openSessionSweeper;
+    private final AttendanceAggregateService attendanceAggregateService;
+    private final AttendanceDataVersions attendanceDataVersions;
+    private final AttendanceStreamService attendanceStreamService;
 
     // Leave Management Endpoints
     @PutMapping("/leave/{requestId}")
@@ -41,6 +58,32 @@ public class HRController {
         return ResponseEntity.ok(leaveService.getAllLeaveBalances(targetYear));
     }
 
+    // Holiday Calendar Endpoints
+    @GetMapping("/holidays")
+    public ResponseEntity<List<Holiday>> getHolidays(
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer year) {
+        int targetYear = year != null ? year : LocalDate.now().getYear();
+        return ResponseEntity.ok(holidayService.getHolidays(location, targetYear));
+    }
+
+    @PostMapping("/holidays")
+    public ResponseEntity<Holiday> addHoliday(@RequestBody Holiday holiday) {
+        return ResponseEntity.ok(holidayService.addHoliday(holiday));
+    }
+
+    @DeleteMapping("/holidays/{holidayId}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long holidayId) {
+        holidayService.deleteHoliday(holidayId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holidays/reload")
+    public ResponseEntity<Void> reloadHolidays() {
+        holidayService.reload();
+        return ResponseEntity.noContent().build();
+    }
+
     // Attendance Management Endpoints
     @GetMapping("/attendance")
     public ResponseEntity<List<Attendance>> getAllAttendance(
@@ -97,4 +140,72 @@ public ResponseEntity<List<Attendance>> getAllAttendanceForDateRange(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
     return ResponseEntity.ok(attendanceService.getAllAttendanceForDateRange(startDate, endDate));
 }
+
+    // Same rows as /attendance/range, streamed as newline-delimited JSON for large ranges
+    @GetMapping(value = "/attendance/range/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAttendanceForDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> attendanceStreamService.streamAttendanceForDateRange(startDate, endDate, out);
+        return ResponseEntity.ok().body(body);
+    }
+
+    // Daily attendance summaries from the rollup, for one employee or everyone
+    @GetMapping("/attendance/summary/range")
+    public ResponseEntity<?> getDailySummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long employeeId) {
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().body("Start date must be before or equal to end date");
+        }
+        return ResponseEntity.ok(dailyAttendanceRollupService.getSummaries(employeeId, startDate, endDate));
+    }
+
+    // Recompute the rollup for a date range, e.g. after a manual data fix
+    @PostMapping("/attendance/summary/rebuild")
+    public ResponseEntity<?> rebuildDailySummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(dailyAttendanceRollupService.rebuild(startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Close sessions left open on earlier days without waiting for the nightly sweep
+    @PostMapping("/attendance/auto-close")
+    public ResponseEntity<Integer> autoCloseOpenSessions() {
+        return ResponseEntity.ok(openSessionSweeper.sweep());
+    }
+
+    // Present/half-day/absent counts, hours and late arrivals per employee or department
+    @GetMapping("/attendance/summary/aggregate")
+    public ResponseEntity<?> getAttendanceAggregates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "EMPLOYEE") AttendanceAggregateService.GroupBy groupBy,
+            @RequestParam(defaultValue = "NONE") AttendanceAggregateService.Period period,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String department,
+            WebRequest request) {
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().body("Start date must be before or equal to end date");
+        }
+        // Any attendance or leave change in the range bumps a month version and with it the ETag
+        String etag = "\"" + attendanceDataVersions.versionOf(startDate, endDate) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<AttendanceAggregateDTO> aggregates = attendanceAggregateService.aggregate(
+            startDate, endDate, groupBy, period, employeeId, department);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePrivate())
+            .eTag(etag)
+            .body(aggregates);
+    }
 }
\ No newline at end of file
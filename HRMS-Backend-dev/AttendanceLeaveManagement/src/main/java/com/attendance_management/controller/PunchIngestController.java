@@ -0,0 +1,46 @@
+package com.attendance_management.controller;
+
+import com.attendance_management.service.PunchIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Batch punch uploads from biometric readers and turnstiles. Only a malformed
+ * or oversized batch is answered with 400; other failures surface as 5xx so
+ * devices retry the batch.
+ */
+@RestController
+@RequestMapping("/api/attendance/punches")
+@RequiredArgsConstructor
+@Slf4j
+public class PunchIngestController {
+
+    private final PunchIngestionService punchIngestionService;
+
+    // Punch events as newline-delimited JSON: {"employeeId":1001,"timestamp":"2025-01-06T09:02:11"}
+    @PostMapping(consumes = {"application/x-ndjson", "application/json"})
+    public ResponseEntity<?> ingestNdjson(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(punchIngestionService.ingestNdjson(request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected punch batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Punch events as CSV rows: employeeId,timestamp[,deviceId]
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<?> ingestCsv(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(punchIngestionService.ingestCsv(request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected punch batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
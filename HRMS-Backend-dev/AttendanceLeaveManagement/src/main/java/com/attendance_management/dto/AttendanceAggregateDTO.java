@@ -0,0 +1,19 @@
+package com.attendance_management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AttendanceAggregateDTO {
+    private Long employeeId; // Null when grouped by department
+    private String department;
+    private LocalDate periodStart; // Monday of the week or first of the month; null without period grouping
+    private int employees;
+    private int presentDays;
+    private int halfDays;
+    private int absentDays;
+    private double totalHours;
+    private double averageHours;
+    private int lateArrivals;
+}
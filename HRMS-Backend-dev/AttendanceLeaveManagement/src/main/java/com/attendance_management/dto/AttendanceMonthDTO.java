@@ -0,0 +1,15 @@
+package com.attendance_management.dto;
+
+import lombok.Data;
+
+import java.time.YearMonth;
+
+@Data
+public class AttendanceMonthDTO {
+    private Long employeeId;
+    private YearMonth month;
+    private int days;
+    // 16 hex digits; 2 bits per day, day 1 lowest: 0 absent or no record, 1 present, 2 half day, 3 leave
+    private String bits;
+    private boolean closed; // Fully rolled up and no longer changing day to day
+}
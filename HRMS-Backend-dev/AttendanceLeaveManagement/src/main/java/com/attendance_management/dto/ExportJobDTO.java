@@ -0,0 +1,22 @@
+package com.attendance_management.dto;
+
+import com.attendance_management.model.ExportJobStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class ExportJobDTO {
+    private String jobId;
+    private Long employeeId; // Null for the whole organisation
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ExportJobStatus status;
+    private int employeesProcessed;
+    private int totalEmployees;
+    private boolean cached; // Served from an earlier result without regenerating
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,15 @@
+package com.attendance_management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One badge or biometric punch as sent by a device
+ */
+@Data
+public class PunchEventDTO {
+    private Long employeeId;
+    private LocalDateTime timestamp;
+    private String deviceId;
+}
@@ -0,0 +1,13 @@
+package com.attendance_management.dto;
+
+import lombok.Data;
+
+@Data
+public class PunchIngestResultDTO {
+    private int received;
+    private int accepted;
+    private int invalid;
+    private int unknownEmployees;
+    private int attendanceDays; // Employee-days written after collapsing punches
+    private long elapsedMillis;
+}
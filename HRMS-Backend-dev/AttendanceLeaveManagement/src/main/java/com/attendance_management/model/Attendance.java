@@ -1,5 +1,6 @@
 package com.attendance_management.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
@@ -7,7 +8,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
@@ -15,7 +18,14 @@ import jakarta.persistence.EnumType;
 
 @Data
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_employee_work_date", columnNames = {"employee_id", "work_date"})
+    },
+    indexes = {
+        @Index(name = "idx_attendance_date", columnList = "date"),
+        @Index(name = "idx_attendance_open_sessions", columnList = "check_out_time, work_date")
+    })
 public class Attendance {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,6 +46,10 @@ public class Attendance {
     @Column(nullable = false)
     private LocalDateTime date;
 
+    // Calendar day of the check-in; one row per employee and day
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AttendanceStatus status; // PRESENT, ABSENT, HALF_DAY
@@ -0,0 +1,26 @@
+package com.attendance_management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Change counter of the attendance and leave data of one calendar month.
+ * Cached exports of a month are reused only while its version is unchanged.
+ */
+@Data
+@Entity
+@Table(name = "attendance_data_versions")
+public class AttendanceDataVersion {
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,44 @@
+package com.attendance_management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Attendance of one employee for one calendar month packed 2 bits per day,
+ * day 1 in the lowest bits. Stored only for months fully covered by the daily
+ * rollup; see {@link com.attendance_management.service.AttendanceCalendarService}
+ * for the day codes.
+ */
+@Data
+@Entity
+@Table(name = "attendance_month_bitmaps")
+@IdClass(AttendanceMonthBitmap.Key.class)
+public class AttendanceMonthBitmap {
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private long bits;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private LocalDate monthStart;
+    }
+}
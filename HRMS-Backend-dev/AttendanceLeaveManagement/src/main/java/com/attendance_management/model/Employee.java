@@ -80,6 +80,10 @@ public class Employee {
 
 	@Column(precision = 10, scale = 2)
 	private BigDecimal basicSalary;
+
+	// Holiday calendar of the employee's office; the default calendar applies when empty
+	@Column(name = "work_location", length = 50)
+	private String workLocation;
 	
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "hr_id")
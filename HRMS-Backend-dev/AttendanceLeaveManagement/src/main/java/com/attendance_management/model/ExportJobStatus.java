@@ -0,0 +1,8 @@
+package com.attendance_management.model;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -7,7 +7,10 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests",
+    indexes = {
+        @Index(name = "idx_leave_requests_start_end", columnList = "start_date, end_date")
+    })
 public class LeaveRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,24 @@
+package com.attendance_management.repository;
+
+import com.attendance_management.model.AttendanceMonthBitmap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface AttendanceMonthBitmapRepository extends JpaRepository<AttendanceMonthBitmap, AttendanceMonthBitmap.Key> {
+
+    // A month stored concurrently by another reader is left as it is
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO attendance_month_bitmaps (employee_id, month_start, bits, computed_at) " +
+                   "VALUES (:employeeId, :monthStart, :bits, :computedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("employeeId") Long employeeId,
+                       @Param("monthStart") LocalDate monthStart,
+                       @Param("bits") long bits,
+                       @Param("computedAt") LocalDateTime computedAt);
+}
@@ -1,11 +1,16 @@
 package com.attendance_management.repository;
 
 import com.attendance_management.model.Attendance;
+import com.attendance_management.model.AttendanceStatus;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +19,34 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     Optional<Attendance> findByEmployeeIdAndDate(Long employeeId, LocalDateTime date);
     List<Attendance> findByEmployeeIdAndDateBetween(Long employeeId, LocalDateTime startDateTime, LocalDateTime endDateTime);
     List<Attendance> findByDateBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+    // Attendance rows per (employee, day) in [from, to) for a page of employees
+    @Query(value = "SELECT employee_id, DATE(date) AS day, COUNT(*) FROM attendance " +
+                   "WHERE date >= :from AND date < :to AND employee_id IN (:employeeIds) " +
+                   "GROUP BY employee_id, DATE(date)", nativeQuery = true)
+    List<Object[]> countPerEmployeeAndDay(@Param("employeeIds") Collection<Long> employeeIds,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+    Optional<Attendance> findByEmployeeIdAndWorkDate(Long employeeId, LocalDate workDate);
+    List<Attendance> findByWorkDateAndCheckOutTimeIsNull(LocalDate workDate);
+
+    // Closes an open session; matches nothing when it was already checked out
+    @Transactional
+    @Modifying
+    @Query("UPDATE Attendance a SET a.checkOutTime = :checkOutTime, a.workDescription = :workDescription, " +
+           "a.workingHours = :workingHours, a.status = :status, a.remarks = :remarks " +
+           "WHERE a.id = :id AND a.checkOutTime IS NULL")
+    int checkOut(@Param("id") Long id,
+                 @Param("checkOutTime") LocalDateTime checkOutTime,
+                 @Param("workDescription") String workDescription,
+                 @Param("workingHours") Double workingHours,
+                 @Param("status") AttendanceStatus status,
+                 @Param("remarks") String remarks);
+
+    // Fills work_date on rows written before the column existed
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE attendance SET work_date = DATE(date) WHERE work_date IS NULL", nativeQuery = true)
+    int backfillWorkDates();
     int countByEmployeeId(Long employeeId);
-    @Query("SELECT COUNT(a) FROM Attendance a " +
-    "WHERE a.employeeId = :employeeId " +
-    "AND FUNCTION('YEAR', a.date) = :year " +
-    "AND FUNCTION('MONTH', a.date) = :month " +
-    "AND FUNCTION('DAY', a.date) = :day")
-int countByEmployeeIdAndDate(@Param("employeeId") Long employeeId,
-                          @Param("year") int year,
-                          @Param("month") int month,
-                          @Param("day") int day);
     
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.attendance_management.repository;
+
+import com.attendance_management.model.DailyAttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyAttendanceSummaryRepository extends JpaRepository<DailyAttendanceSummary, Long> {
+    List<DailyAttendanceSummary> findByWorkDateBetweenOrderByEmployeeIdAscWorkDateAsc(LocalDate startDate, LocalDate endDate);
+    List<DailyAttendanceSummary> findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(Long employeeId, LocalDate startDate, LocalDate endDate);
+}
@@ -1,12 +1,20 @@
 package com.attendance_management.repository;
 
 import com.attendance_management.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmployeeId(Long employeeId);
+    boolean existsByEmployeeId(Long employeeId);
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.employeeId IS NOT NULL")
+    List<Long> findAllEmployeeIds();
 } 
\ No newline at end of file
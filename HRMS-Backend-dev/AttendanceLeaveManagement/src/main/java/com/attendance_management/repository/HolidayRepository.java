@@ -0,0 +1,13 @@
+package com.attendance_management.repository;
+
+import com.attendance_management.model.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+    List<Holiday> findByLocationAndHolidayDateBetween(String location, LocalDate startDate, LocalDate endDate);
+}
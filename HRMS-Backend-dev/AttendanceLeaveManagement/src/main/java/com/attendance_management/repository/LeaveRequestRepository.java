@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -16,6 +17,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     List<LeaveRequest> findByEmployeeIdAndStatus(Long employeeId, LeaveStatus status);
     List<LeaveRequest> findByEmployeeIdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(Long employeeId, LeaveStatus status, LocalDate endDate, LocalDate startDate);
     int countByEmployeeId(Long employeeId);
-    @Query("SELECT COUNT(l) FROM LeaveRequest l WHERE l.employeeId = :employeeId AND l.startDate <= :date AND l.endDate >= :date")
-    int countByEmployeeIdAndDateInLeaveRange(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+    // Leave ranges overlapping [startDate, endDate] for a page of employees
+    @Query("SELECT l.employeeId, l.startDate, l.endDate FROM LeaveRequest l " +
+           "WHERE l.startDate <= :endDate AND l.endDate >= :startDate " +
+           "AND l.employeeId IN :employeeIds")
+    List<Object[]> findLeaveRangesOverlapping(@Param("employeeIds") Collection<Long> employeeIds,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
 } 
\ No newline at end of file
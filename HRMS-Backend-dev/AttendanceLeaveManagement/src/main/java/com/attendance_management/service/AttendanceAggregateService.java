@@ -0,0 +1,114 @@
+package com.attendance_management.service;
+
+import com.attendance_management.dto.AttendanceAggregateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Attendance totals per employee or department, optionally per week or month,
+ * aggregated in the database so only one row per group leaves it. Only closed
+ * sessions count; sessions still open have no hours or final status yet.
+ */
+@Service
+public class AttendanceAggregateService {
+
+    public enum GroupBy {
+        EMPLOYEE,
+        DEPARTMENT
+    }
+
+    public enum Period {
+        NONE,
+        WEEK,
+        MONTH
+    }
+
+    private static final String AGGREGATE_SQL =
+        "SELECT %s AS group_key, MAX(e.department) AS department, %s AS period_start, " +
+        "COUNT(DISTINCT a.employee_id) AS employees, " +
+        "SUM(a.status = 'PRESENT') AS present_days, " +
+        "SUM(a.status = 'HALF_DAY') AS half_days, " +
+        "SUM(a.status = 'ABSENT') AS absent_days, " +
+        "COALESCE(SUM(a.working_hours), 0) AS total_hours, " +
+        "COALESCE(AVG(a.working_hours), 0) AS average_hours, " +
+        "SUM(TIME(a.check_in_time) > :lateAfter) AS late_arrivals " +
+        "FROM attendance a LEFT JOIN employees e ON e.employee_id = a.employee_id " +
+        "WHERE a.date >= :fromTime AND a.date < :toTime AND a.check_out_time IS NOT NULL%s " +
+        "GROUP BY group_key, period_start ORDER BY group_key, period_start";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LocalTime lateAfter;
+
+    public AttendanceAggregateService(NamedParameterJdbcTemplate jdbcTemplate,
+                                      @Value("${attendance.summary.late-after:09:30}") String lateAfter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lateAfter = LocalTime.parse(lateAfter);
+    }
+
+    /**
+     * @param employeeId Restrict to one employee, or null
+     * @param department Restrict to one department, or null
+     */
+    public List<AttendanceAggregateDTO> aggregate(LocalDate startDate, LocalDate endDate, GroupBy groupBy,
+                                                  Period period, Long employeeId, String department) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
+
+        StringBuilder filters = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("fromTime", Timestamp.valueOf(startDate.atStartOfDay()))
+            .addValue("toTime", Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()))
+            .addValue("lateAfter", lateAfter.toString());
+        if (employeeId != null) {
+            filters.append(" AND a.employee_id = :employeeId");
+            params.addValue("employeeId", employeeId);
+        }
+        if (department != null) {
+            filters.append(" AND e.department = :department");
+            params.addValue("department", department);
+        }
+
+        String sql = String.format(AGGREGATE_SQL,
+            groupBy == GroupBy.DEPARTMENT ? "e.department" : "a.employee_id",
+            periodExpression(period),
+            filters);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            AttendanceAggregateDTO dto = new AttendanceAggregateDTO();
+            if (groupBy == GroupBy.EMPLOYEE) {
+                dto.setEmployeeId(rs.getLong("group_key"));
+            }
+            dto.setDepartment(rs.getString("department"));
+            Date periodStart = rs.getDate("period_start");
+            dto.setPeriodStart(periodStart != null ? periodStart.toLocalDate() : null);
+            dto.setEmployees(rs.getInt("employees"));
+            dto.setPresentDays(rs.getInt("present_days"));
+            dto.setHalfDays(rs.getInt("half_days"));
+            dto.setAbsentDays(rs.getInt("absent_days"));
+            dto.setTotalHours(rs.getDouble("total_hours"));
+            dto.setAverageHours(rs.getDouble("average_hours"));
+            dto.setLateArrivals(rs.getInt("late_arrivals"));
+            return dto;
+        });
+    }
+
+    // Weeks start on Monday
+    private static String periodExpression(Period period) {
+        switch (period) {
+            case WEEK:
+                return "DATE_SUB(DATE(a.date), INTERVAL WEEKDAY(a.date) DAY)";
+            case MONTH:
+                return "DATE_SUB(DATE(a.date), INTERVAL DAYOFMONTH(a.date) - 1 DAY)";
+            default:
+                return "CAST(NULL AS DATE)";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.attendance_management.service;
+
+import com.attendance_management.dto.AttendanceMonthDTO;
+import com.attendance_management.model.AttendanceMonthBitmap;
+import com.attendance_management.model.DailyAttendanceSummary;
+import com.attendance_management.repository.AttendanceMonthBitmapRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Packed monthly attendance for calendar views. Each day takes 2 bits, so a
+ * month fits in one long. Months fully covered by the daily rollup are stored
+ * in attendance_month_bitmaps and served with a single primary-key read; the
+ * rollup drops them whenever it rewrites one of their days. Open months are
+ * packed from the rollup on every call.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceCalendarService {
+
+    // An absent working day and a day without attendance look the same on the calendar
+    static final int ABSENT_OR_NO_RECORD = 0;
+    static final int PRESENT = 1;
+    static final int HALF_DAY = 2;
+    static final int LEAVE = 3;
+
+    private final AttendanceMonthBitmapRepository bitmapRepository;
+    private final DailyAttendanceRollupService dailyAttendanceRollupService;
+
+    public AttendanceMonthDTO getMonth(Long employeeId, YearMonth month) {
+        AttendanceMonthBitmap.Key key = new AttendanceMonthBitmap.Key(employeeId, month.atDay(1));
+        AttendanceMonthBitmap stored = bitmapRepository.findById(key).orElse(null);
+        if (stored != null) {
+            return toDTO(employeeId, month, stored.getBits(), true);
+        }
+
+        // Packing and storing happen under the watermark lock: a refresh that drops this
+        // month's bitmap cannot commit in between and leave a stale one behind
+        return dailyAttendanceRollupService.withWatermarkShared(watermark -> {
+            boolean closed = watermark != null && !month.atEndOfMonth().isAfter(watermark);
+            long bits = pack(employeeId, month);
+            if (closed) {
+                bitmapRepository.insertIfAbsent(employeeId, key.getMonthStart(), bits, LocalDateTime.now());
+            }
+            return toDTO(employeeId, month, bits, closed);
+        });
+    }
+
+    private long pack(Long employeeId, YearMonth month) {
+        long bits = 0L;
+        for (DailyAttendanceSummary day : dailyAttendanceRollupService.getSummaries(
+                employeeId, month.atDay(1), month.atEndOfMonth())) {
+            bits |= (long) code(day) << (2 * (day.getWorkDate().getDayOfMonth() - 1));
+        }
+        return bits;
+    }
+
+    // Approved leave wins over attendance, as in the payroll absence calculation
+    private static int code(DailyAttendanceSummary day) {
+        if (day.isOnLeave()) {
+            return LEAVE;
+        }
+        if (day.getStatus() == null) {
+            return ABSENT_OR_NO_RECORD;
+        }
+        switch (day.getStatus()) {
+            case PRESENT:
+                return PRESENT;
+            case HALF_DAY:
+                return HALF_DAY;
+            default:
+                return ABSENT_OR_NO_RECORD;
+        }
+    }
+
+    private static AttendanceMonthDTO toDTO(Long employeeId, YearMonth month, long bits, boolean closed) {
+        AttendanceMonthDTO dto = new AttendanceMonthDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setMonth(month);
+        dto.setDays(month.lengthOfMonth());
+        dto.setBits(String.format("%016x", bits));
+        dto.setClosed(closed);
+        return dto;
+    }
+}
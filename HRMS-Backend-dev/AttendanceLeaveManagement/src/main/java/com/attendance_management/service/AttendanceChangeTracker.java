@@ -0,0 +1,96 @@
+package com.attendance_management.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records attendance and leave changes that affect payroll. Every pay period
+ * touched by a change is marked stale for the employee, and the payroll
+ * service recomputes only those payrolls. The data version of every month
+ * touched is bumped as well, which invalidates cached exports, and days
+ * already in the daily rollup are refreshed once the change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceChangeTracker {
+
+    // Pay periods run from the 10th of a month to the 10th of the next, both inclusive
+    private static final int PAY_PERIOD_START_DAY = 10;
+
+    private static final String MARK_STALE_SQL =
+        "INSERT INTO payroll_stale_marks (employee_id, pay_period_start, marked_at, attempts) VALUES (?, ?, ?, 0) " +
+        "ON DUPLICATE KEY UPDATE marked_at = VALUES(marked_at), attempts = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceDataVersions attendanceDataVersions;
+    private final DailyAttendanceRollupService dailyAttendanceRollupService;
+
+    public void attendanceChanged(Long employeeId, LocalDate date) {
+        markStale(employeeId, date, date);
+        attendanceDataVersions.changed(date, date);
+        dailyAttendanceRollupService.refreshAfterCommit(List.of(employeeId), date, date);
+    }
+
+    public void leaveChanged(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        markStale(employeeId, startDate, endDate);
+        attendanceDataVersions.changed(startDate, endDate);
+        dailyAttendanceRollupService.refreshAfterCommit(List.of(employeeId), startDate, endDate);
+    }
+
+    /**
+     * Mark the pay periods of many changed attendance days in one batch
+     */
+    public void attendanceChanged(Map<Long, ? extends Collection<LocalDate>> daysByEmployee) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> marks = new ArrayList<>();
+        Set<LocalDate> changedDays = new HashSet<>();
+        daysByEmployee.forEach((employeeId, days) -> {
+            Set<LocalDate> periods = new HashSet<>();
+            changedDays.addAll(days);
+            for (LocalDate day : days) {
+                for (LocalDate period = payPeriodsFrom(day); !period.isAfter(day); period = period.plusMonths(1)) {
+                    periods.add(period);
+                }
+            }
+            for (LocalDate period : periods) {
+                marks.add(new Object[] {employeeId, Date.valueOf(period), now});
+            }
+        });
+        if (!marks.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_STALE_SQL, marks);
+        }
+        attendanceDataVersions.changed(changedDays);
+        if (!changedDays.isEmpty()) {
+            dailyAttendanceRollupService.refreshAfterCommit(daysByEmployee.keySet(),
+                Collections.min(changedDays), Collections.max(changedDays));
+        }
+    }
+
+    private void markStale(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> marks = new ArrayList<>();
+        for (LocalDate period = payPeriodsFrom(startDate); !period.isAfter(endDate); period = period.plusMonths(1)) {
+            marks.add(new Object[] {employeeId, Date.valueOf(period), now});
+        }
+        jdbcTemplate.batchUpdate(MARK_STALE_SQL, marks);
+    }
+
+    // First pay period containing the date; the 10th also closes the previous period
+    private LocalDate payPeriodsFrom(LocalDate date) {
+        LocalDate start = date.withDayOfMonth(PAY_PERIOD_START_DAY);
+        return date.getDayOfMonth() <= PAY_PERIOD_START_DAY ? start.minusMonths(1) : start;
+    }
+}
@@ -0,0 +1,85 @@
+package com.attendance_management.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Per-month change counters of attendance and leave data, shared by every node
+ * through the database
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceDataVersions {
+
+    private static final String BUMP_SQL =
+        "INSERT INTO attendance_data_versions (month_start, version, changed_at) VALUES (?, 1, ?) " +
+        "ON DUPLICATE KEY UPDATE version = version + 1, changed_at = VALUES(changed_at)";
+
+    private static final String VERSION_SQL =
+        "SELECT version FROM attendance_data_versions WHERE month_start = ?";
+
+    private static final String RANGE_VERSION_SQL =
+        "SELECT COALESCE(SUM(version), 0) FROM attendance_data_versions WHERE month_start BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Bump the months from startDate to endDate inclusive
+     */
+    public void changed(LocalDate startDate, LocalDate endDate) {
+        TreeSet<LocalDate> months = new TreeSet<>();
+        for (LocalDate month = startDate.withDayOfMonth(1); !month.isAfter(endDate); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        bump(months);
+    }
+
+    /**
+     * Bump the months of the given days
+     */
+    public void changed(Collection<LocalDate> days) {
+        TreeSet<LocalDate> months = new TreeSet<>();
+        for (LocalDate day : days) {
+            months.add(day.withDayOfMonth(1));
+        }
+        bump(months);
+    }
+
+    public long versionOf(LocalDate month) {
+        List<Long> versions = jdbcTemplate.queryForList(VERSION_SQL, Long.class, Date.valueOf(month.withDayOfMonth(1)));
+        return versions.isEmpty() ? 0L : versions.get(0);
+    }
+
+    /**
+     * Combined version of the months from startDate to endDate inclusive. Versions
+     * only grow, so any change inside the range yields a larger value.
+     */
+    public long versionOf(LocalDate startDate, LocalDate endDate) {
+        Long version = jdbcTemplate.queryForObject(RANGE_VERSION_SQL, Long.class,
+            Date.valueOf(startDate.withDayOfMonth(1)), Date.valueOf(endDate.withDayOfMonth(1)));
+        return version != null ? version : 0L;
+    }
+
+    // Months are bumped in ascending order so concurrent writers lock rows in the same order
+    private void bump(TreeSet<LocalDate> months) {
+        if (months.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(months.size());
+        for (LocalDate month : months) {
+            rows.add(new Object[] {Date.valueOf(month), now});
+        }
+        jdbcTemplate.batchUpdate(BUMP_SQL, rows);
+    }
+}
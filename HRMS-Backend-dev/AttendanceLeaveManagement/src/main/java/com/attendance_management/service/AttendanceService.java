@@ -3,10 +3,9 @@ package com.attendance_management.service;
 import com.attendance_management.model.Attendance;
 import com.attendance_management.model.AttendanceStatus;
 import com.attendance_management.repository.AttendanceRepository;
-import com.attendance_management.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -17,60 +16,64 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
-    private final EmployeeRepository employeeRepository;
-
-    private static final double REQUIRED_HOURS = 9.0;
-    private static final double HALF_DAY_HOURS = 4.0;
-
-    @Transactional
+    private final AttendanceChangeTracker attendanceChangeTracker;
+    private final EmployeeIdCache employeeIdCache;
+    private final OpenSessionCache openSessionCache;
+
+    static final double REQUIRED_HOURS = 9.0;
+    static final double HALF_DAY_HOURS = 4.0;
+    static final String HALF_DAY_REMARKS = "Working hours less than required 9 hours";
+    static final String ABSENT_REMARKS = "Working hours less than half day requirement";
+
+    /**
+     * Check an employee in for today. The unique (employee_id, work_date) index
+     * rejects a second check-in, so no read precedes the insert.
+     */
     public Attendance checkIn(Long employeeId) {
-        // Find employee using employeeId
-        employeeRepository.findByEmployeeId(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        if (!employeeIdCache.exists(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
 
         LocalDateTime now = LocalDateTime.now();
-        LocalDate today = now.toLocalDate();
-
-        // Check if already checked in
-        Attendance existingAttendance = attendanceRepository.findByEmployeeIdAndDateBetween(
-                employeeId, today.atStartOfDay(), today.atTime(23, 59, 59))
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if (existingAttendance != null) {
-            if (existingAttendance.getCheckOutTime() == null) {
-                throw new IllegalStateException("Already checked in for today");
-            }
-
-            throw new IllegalStateException("Already checked in for today");
-        }
 
         Attendance attendance = new Attendance();
         attendance.setEmployeeId(employeeId);
         attendance.setDate(now);
+        attendance.setWorkDate(now.toLocalDate());
         attendance.setCheckInTime(now);
         attendance.setStatus(AttendanceStatus.PRESENT); // Set initial status
 
-        return attendanceRepository.save(attendance);
+        Attendance saved;
+        try {
+            saved = attendanceRepository.save(attendance);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Already checked in for today");
+        }
+        openSessionCache.put(saved);
+        return saved;
     }
 
+    /**
+     * Check an employee out of today's open session with a single conditional update
+     */
     public Attendance checkOut(Long employeeId, String workDescription) {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = now.toLocalDate().atTime(23, 59, 59);
-
-        // Find today's attendance using date range
-        Attendance attendance = attendanceRepository
-                .findByEmployeeIdAndDateBetween(employeeId, startOfDay, endOfDay)
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No check-in found for today"));
+        LocalDate today = now.toLocalDate();
 
-        if (attendance.getCheckOutTime() != null) {
-            throw new IllegalStateException("Already checked out today");
+        OpenSessionCache.OpenSession session = openSessionCache.take(employeeId, today);
+        if (session == null) {
+            if (attendanceRepository.findByEmployeeIdAndWorkDate(employeeId, today).isPresent()) {
+                throw new IllegalStateException("Already checked out today");
+            }
+            throw new RuntimeException("No check-in found for today");
         }
 
+        Attendance attendance = new Attendance();
+        attendance.setId(session.attendanceId());
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(session.date());
+        attendance.setWorkDate(today);
+        attendance.setCheckInTime(session.checkInTime());
         attendance.setCheckOutTime(now);
         attendance.setWorkDescription(workDescription);
 
@@ -83,18 +86,24 @@ public class AttendanceService {
         // Update status based on working hours
         updateAttendanceStatus(attendance, hours);
 
-        return attendanceRepository.save(attendance);
+        int updated = attendanceRepository.checkOut(attendance.getId(), now, workDescription, hours,
+                attendance.getStatus(), attendance.getRemarks());
+        if (updated == 0) {
+            throw new IllegalStateException("Already checked out today");
+        }
+        attendanceChangeTracker.attendanceChanged(employeeId, today);
+        return attendance;
     }
 
-    private void updateAttendanceStatus(Attendance attendance, double hours) {
+    static void updateAttendanceStatus(Attendance attendance, double hours) {
         if (hours >= REQUIRED_HOURS) {
             attendance.setStatus(AttendanceStatus.PRESENT);
         } else if (hours >= HALF_DAY_HOURS) {
             attendance.setStatus(AttendanceStatus.HALF_DAY);
-            attendance.setRemarks("Working hours less than required 9 hours");
+            attendance.setRemarks(HALF_DAY_REMARKS);
         } else {
             attendance.setStatus(AttendanceStatus.ABSENT);
-            attendance.setRemarks("Working hours less than half day requirement");
+            attendance.setRemarks(ABSENT_REMARKS);
         }
     }
 
@@ -0,0 +1,95 @@
+package com.attendance_management.service;
+
+import com.attendance_management.model.Attendance;
+import com.attendance_management.model.AttendanceStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Writes attendance rows as newline-delimited JSON straight from the database.
+ * The MySQL driver streams the result row by row and each row is written as it
+ * arrives, so memory and time to first byte do not grow with the range.
+ */
+@Service
+public class AttendanceStreamService {
+
+    private static final String RANGE_SQL =
+        "SELECT id, employee_id, check_in_time, check_out_time, work_description, working_hours, " +
+        "date, work_date, status, remarks FROM attendance WHERE date >= ? AND date < ? ORDER BY date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter attendanceWriter;
+    private final int flushRows;
+
+    public AttendanceStreamService(DataSource dataSource,
+                                   ObjectMapper objectMapper,
+                                   @Value("${attendance.stream.flush-rows:1000}") int flushRows) {
+        // Integer.MIN_VALUE makes the MySQL driver stream rows one at a time; only this
+        // template sets it, so no other statement changes how it is executed
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.objectMapper = objectMapper;
+        this.attendanceWriter = objectMapper.writerFor(Attendance.class);
+        this.flushRows = flushRows;
+    }
+
+    /**
+     * Write every attendance row of the range, one JSON object per line, in the
+     * same shape as {@link AttendanceService#getAllAttendanceForDateRange}
+     */
+    public void streamAttendanceForDateRange(LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int[] written = {0};
+            jdbcTemplate.query(RANGE_SQL, rs -> {
+                try {
+                    attendanceWriter.writeValue(generator, toAttendance(rs));
+                    generator.writeRaw('\n');
+                    // Push rows to the client in blocks instead of filling the response buffer
+                    if (++written[0] % flushRows == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Attendance toAttendance(ResultSet rs) throws SQLException {
+        Attendance attendance = new Attendance();
+        attendance.setId(rs.getLong("id"));
+        attendance.setEmployeeId(rs.getLong("employee_id"));
+        attendance.setCheckInTime(rs.getTimestamp("check_in_time").toLocalDateTime());
+        Timestamp checkOut = rs.getTimestamp("check_out_time");
+        attendance.setCheckOutTime(checkOut != null ? checkOut.toLocalDateTime() : null);
+        attendance.setWorkDescription(rs.getString("work_description"));
+        double workingHours = rs.getDouble("working_hours");
+        attendance.setWorkingHours(rs.wasNull() ? null : workingHours);
+        attendance.setDate(rs.getTimestamp("date").toLocalDateTime());
+        Date workDate = rs.getDate("work_date");
+        attendance.setWorkDate(workDate != null ? workDate.toLocalDate() : null);
+        attendance.setStatus(AttendanceStatus.valueOf(rs.getString("status")));
+        attendance.setRemarks(rs.getString("remarks"));
+        return attendance;
+    }
+}
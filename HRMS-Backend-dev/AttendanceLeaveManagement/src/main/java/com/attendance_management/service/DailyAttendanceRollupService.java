@@ -0,0 +1,313 @@
+package com.attendance_management.service;
+
+import com.attendance_management.model.AttendanceStatus;
+import com.attendance_management.model.DailyAttendanceSummary;
+import com.attendance_management.repository.DailyAttendanceSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Maintains daily_attendance_summary, one row per employee and day built from
+ * attendance rows and approved leaves. A nightly job rolls forward from the
+ * watermark (last complete day) up to yesterday. Changes to days already
+ * rolled up are refreshed right after they commit, so the rollup stays exact
+ * and readers only need live rows for days past the watermark.
+ */
+@Service
+@Slf4j
+public class DailyAttendanceRollupService {
+
+    static final String WATERMARK = "daily_attendance_summary";
+
+    // Recursive day list for leave expansion; ranges are processed in batches well under the recursion limit
+    private static final String SUMMARY_SELECT =
+        "WITH RECURSIVE days (day) AS (" +
+        "SELECT CAST(:fromDate AS DATE) UNION ALL SELECT day + INTERVAL 1 DAY FROM days WHERE day < :toDate), " +
+        "att AS (" +
+        "SELECT employee_id, work_date, " +
+        // The first row of a day wins, as in the payroll absence calculation
+        "SUBSTRING_INDEX(GROUP_CONCAT(status ORDER BY date, id), ',', 1) AS status, " +
+        "ROUND(SUM(COALESCE(working_hours, 0)) * 60) AS worked_minutes " +
+        "FROM attendance WHERE date >= :fromTime AND date < :toTime %1$s " +
+        "GROUP BY employee_id, work_date), " +
+        "lv AS (" +
+        "SELECT DISTINCT l.employee_id, days.day AS work_date FROM leave_requests l " +
+        "JOIN days ON days.day BETWEEN l.start_date AND l.end_date " +
+        "WHERE l.status = 'APPROVED' AND l.start_date <= :toDate AND l.end_date >= :fromDate %2$s) " +
+        "SELECT k.employee_id, k.work_date, att.status, COALESCE(att.worked_minutes, 0) AS worked_minutes, " +
+        "lv.employee_id IS NOT NULL AS on_leave, :computedAt AS computed_at " +
+        "FROM (SELECT employee_id, work_date FROM att UNION SELECT employee_id, work_date FROM lv) k " +
+        "LEFT JOIN att ON att.employee_id = k.employee_id AND att.work_date = k.work_date " +
+        "LEFT JOIN lv ON lv.employee_id = k.employee_id AND lv.work_date = k.work_date";
+
+    private static final String ALL_EMPLOYEES = String.format(SUMMARY_SELECT, "", "");
+    private static final String SOME_EMPLOYEES = String.format(SUMMARY_SELECT,
+        "AND employee_id IN (:employeeIds)", "AND l.employee_id IN (:employeeIds)");
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO daily_attendance_summary (employee_id, work_date, status, worked_minutes, on_leave, computed_at) ";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM daily_attendance_summary WHERE work_date BETWEEN :fromDate AND :toDate";
+    // Packed calendar months built from the rows being replaced
+    private static final String DELETE_BITMAPS_SQL =
+        "DELETE FROM attendance_month_bitmaps WHERE month_start BETWEEN :fromMonth AND :toMonth";
+
+    private static final String INIT_WATERMARK_SQL =
+        "INSERT IGNORE INTO rollup_watermarks (name, watermark, updated_at) VALUES (:name, :watermark, :now)";
+    private static final String LOCK_WATERMARK_SQL =
+        "SELECT watermark FROM rollup_watermarks WHERE name = :name FOR UPDATE";
+    private static final String SHARE_WATERMARK_SQL =
+        "SELECT watermark FROM rollup_watermarks WHERE name = :name FOR SHARE";
+    private static final String READ_WATERMARK_SQL =
+        "SELECT watermark FROM rollup_watermarks WHERE name = :name";
+    private static final String ADVANCE_WATERMARK_SQL =
+        "UPDATE rollup_watermarks SET watermark = :watermark, updated_at = :now WHERE name = :name";
+    private static final String FIRST_DAY_SQL =
+        "SELECT LEAST(COALESCE((SELECT MIN(work_date) FROM attendance), CURRENT_DATE), " +
+        "COALESCE((SELECT MIN(start_date) FROM leave_requests WHERE status = 'APPROVED'), CURRENT_DATE))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DailyAttendanceSummaryRepository summaryRepository;
+    private final int daysPerBatch;
+    private final int employeesPerBatch;
+
+    public DailyAttendanceRollupService(NamedParameterJdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        DailyAttendanceSummaryRepository summaryRepository,
+                                        @Value("${attendance.rollup.days-per-batch:7}") int daysPerBatch,
+                                        @Value("${attendance.rollup.employees-per-batch:1000}") int employeesPerBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.summaryRepository = summaryRepository;
+        this.daysPerBatch = daysPerBatch;
+        this.employeesPerBatch = employeesPerBatch;
+    }
+
+    /**
+     * Roll the summary forward from the watermark up to yesterday, one batch of
+     * days per transaction. Nodes running this at the same time serialize on the
+     * watermark row and skip batches another node already finished.
+     */
+    @Scheduled(cron = "${attendance.rollup.cron:0 30 0 * * *}")
+    public void rollUp() {
+        LocalDate target = LocalDate.now().minusDays(1);
+        initWatermark();
+
+        int batches = 0;
+        while (true) {
+            Boolean advanced = transactionTemplate.execute(status -> {
+                LocalDate watermark = lockWatermark();
+                if (!watermark.isBefore(target)) {
+                    return false;
+                }
+                LocalDate from = watermark.plusDays(1);
+                LocalDate to = min(from.plusDays(daysPerBatch - 1L), target);
+                rebuildRange(null, from, to);
+                jdbcTemplate.update(ADVANCE_WATERMARK_SQL, new MapSqlParameterSource()
+                    .addValue("name", WATERMARK)
+                    .addValue("watermark", Date.valueOf(to))
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(advanced)) {
+                break;
+            }
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("Rolled daily attendance summary up to {} in {} batches", target, batches);
+        }
+    }
+
+    /**
+     * Recompute the summary of every employee for a date range. The watermark is
+     * left alone; days past it are simply recomputed again by the nightly job.
+     * Each batch holds the watermark lock, so it never interleaves with the
+     * rollup or a refresh rewriting the same days.
+     *
+     * @return Number of summary rows written
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
+        initWatermark();
+        int rows = 0;
+        for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(daysPerBatch)) {
+            LocalDate to = min(from.plusDays(daysPerBatch - 1L), endDate);
+            LocalDate batchFrom = from;
+            rows += transactionTemplate.execute(status -> {
+                lockWatermark();
+                return rebuildRange(null, batchFrom, to);
+            });
+        }
+        log.info("Rebuilt {} daily attendance summary rows from {} to {}", rows, startDate, endDate);
+        return rows;
+    }
+
+    /**
+     * Refresh already rolled-up days of some employees once the surrounding
+     * transaction commits, or right away outside a transaction
+     */
+    public void refreshAfterCommit(Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        List<Long> ids = new ArrayList<>(employeeIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(ids, startDate, endDate);
+                }
+            });
+        } else {
+            refresh(ids, startDate, endDate);
+        }
+    }
+
+    /**
+     * Summaries for a date range, for one employee or everyone when employeeId is
+     * null. Days up to the watermark come from the rollup, later days are
+     * computed from attendance and leaves on the fly.
+     */
+    public List<DailyAttendanceSummary> getSummaries(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        LocalDate watermark = getWatermark();
+        List<DailyAttendanceSummary> summaries = new ArrayList<>();
+
+        LocalDate rolledUpEnd = watermark != null ? min(endDate, watermark) : startDate.minusDays(1);
+        if (!rolledUpEnd.isBefore(startDate)) {
+            summaries.addAll(employeeId != null
+                ? summaryRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(employeeId, startDate, rolledUpEnd)
+                : summaryRepository.findByWorkDateBetweenOrderByEmployeeIdAscWorkDateAsc(startDate, rolledUpEnd));
+        }
+
+        LocalDate liveStart = rolledUpEnd.isBefore(startDate) ? startDate : rolledUpEnd.plusDays(1);
+        for (LocalDate from = liveStart; !from.isAfter(endDate); from = from.plusDays(daysPerBatch)) {
+            LocalDate to = min(from.plusDays(daysPerBatch - 1L), endDate);
+            String sql = employeeId != null ? SOME_EMPLOYEES : ALL_EMPLOYEES;
+            MapSqlParameterSource params = rangeParams(from, to);
+            if (employeeId != null) {
+                params.addValue("employeeIds", List.of(employeeId));
+            }
+            summaries.addAll(jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+                DailyAttendanceSummary summary = new DailyAttendanceSummary();
+                summary.setEmployeeId(rs.getLong("employee_id"));
+                summary.setWorkDate(rs.getDate("work_date").toLocalDate());
+                String status = rs.getString("status");
+                summary.setStatus(status != null ? AttendanceStatus.valueOf(status) : null);
+                summary.setWorkedMinutes(rs.getInt("worked_minutes"));
+                summary.setOnLeave(rs.getBoolean("on_leave"));
+                return summary;
+            }));
+        }
+
+        summaries.sort(Comparator.comparing(DailyAttendanceSummary::getEmployeeId)
+            .thenComparing(DailyAttendanceSummary::getWorkDate));
+        return summaries;
+    }
+
+    /**
+     * Run work in a transaction that holds a shared lock on the watermark, so no
+     * rollup, rebuild or refresh rewrites summary rows until it commits. Lets
+     * readers derive data from the rollup and store it without racing a refresh.
+     *
+     * @param work Called with the watermark, or null before the first rollup
+     */
+    public <T> T withWatermarkShared(Function<LocalDate, T> work) {
+        return transactionTemplate.execute(status -> {
+            // Taken before any plain read, so the transaction's snapshot starts after the last writer committed
+            List<LocalDate> watermarks = jdbcTemplate.queryForList(SHARE_WATERMARK_SQL,
+                new MapSqlParameterSource("name", WATERMARK), LocalDate.class);
+            return work.apply(watermarks.isEmpty() ? null : watermarks.get(0));
+        });
+    }
+
+    public LocalDate getWatermark() {
+        List<LocalDate> watermarks = jdbcTemplate.queryForList(READ_WATERMARK_SQL,
+            new MapSqlParameterSource("name", WATERMARK), LocalDate.class);
+        return watermarks.isEmpty() ? null : watermarks.get(0);
+    }
+
+    private void refresh(List<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        LocalDate watermark = getWatermark();
+        if (watermark == null || employeeIds.isEmpty() || startDate.isAfter(watermark)) {
+            return; // Not rolled up yet; the nightly job will pick these days up
+        }
+        LocalDate end = min(endDate, watermark);
+        for (int i = 0; i < employeeIds.size(); i += employeesPerBatch) {
+            List<Long> batch = employeeIds.subList(i, Math.min(i + employeesPerBatch, employeeIds.size()));
+            for (LocalDate from = startDate; !from.isAfter(end); from = from.plusDays(daysPerBatch)) {
+                LocalDate to = min(from.plusDays(daysPerBatch - 1L), end);
+                LocalDate batchFrom = from;
+                transactionTemplate.executeWithoutResult(status -> {
+                    lockWatermark();
+                    rebuildRange(batch, batchFrom, to);
+                });
+            }
+        }
+    }
+
+    // The row must exist before anyone locks it; locking a missing row only takes a gap lock,
+    // which does not exclude other writers
+    private void initWatermark() {
+        LocalDate firstDay = jdbcTemplate.queryForObject(FIRST_DAY_SQL, new MapSqlParameterSource(), LocalDate.class);
+        jdbcTemplate.update(INIT_WATERMARK_SQL, new MapSqlParameterSource()
+            .addValue("name", WATERMARK)
+            .addValue("watermark", Date.valueOf(firstDay.minusDays(1)))
+            .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    // Every writer of summary rows (rollup, rebuild, refresh) holds this lock until it commits
+    private LocalDate lockWatermark() {
+        return jdbcTemplate.queryForObject(LOCK_WATERMARK_SQL,
+            new MapSqlParameterSource("name", WATERMARK), LocalDate.class);
+    }
+
+    // Replace the summary rows of a range; runs inside the caller's transaction
+    private int rebuildRange(List<Long> employeeIds, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = rangeParams(from, to)
+            .addValue("computedAt", Timestamp.valueOf(LocalDateTime.now()))
+            .addValue("fromMonth", Date.valueOf(from.withDayOfMonth(1)))
+            .addValue("toMonth", Date.valueOf(to.withDayOfMonth(1)));
+        if (employeeIds == null) {
+            jdbcTemplate.update(DELETE_BITMAPS_SQL, params);
+            jdbcTemplate.update(DELETE_SQL, params);
+            return jdbcTemplate.update(INSERT_PREFIX + ALL_EMPLOYEES, params);
+        }
+        params.addValue("employeeIds", employeeIds);
+        jdbcTemplate.update(DELETE_BITMAPS_SQL + " AND employee_id IN (:employeeIds)", params);
+        jdbcTemplate.update(DELETE_SQL + " AND employee_id IN (:employeeIds)", params);
+        return jdbcTemplate.update(INSERT_PREFIX + SOME_EMPLOYEES, params);
+    }
+
+    private static MapSqlParameterSource rangeParams(LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+            .addValue("fromDate", Date.valueOf(from))
+            .addValue("toDate", Date.valueOf(to))
+            .addValue("fromTime", Timestamp.valueOf(from.atStartOfDay()))
+            .addValue("toTime", Timestamp.valueOf(to.plusDays(1).atStartOfDay()))
+            .addValue("computedAt", null);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,59 @@
+package com.attendance_management.service;
+
+import com.attendance_management.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Known employee ids held in memory, so attendance writes can validate an
+ * employee without a database read. Ids missing from the set are looked up
+ * once and added, which covers employees registered since the last refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeIdCache {
+
+    private final EmployeeRepository employeeRepository;
+
+    private volatile Set<Long> employeeIds = ConcurrentHashMap.newKeySet();
+
+    public boolean exists(Long employeeId) {
+        if (employeeId == null) {
+            return false;
+        }
+        if (employeeIds.contains(employeeId)) {
+            return true;
+        }
+        if (employeeRepository.existsByEmployeeId(employeeId)) {
+            employeeIds.add(employeeId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Snapshot of the cached ids, for validating large batches
+     */
+    public Set<Long> snapshot() {
+        return new HashSet<>(employeeIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${attendance.employee-cache.refresh-interval-ms:600000}",
+               initialDelayString = "${attendance.employee-cache.refresh-interval-ms:600000}")
+    public void refresh() {
+        Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        loaded.addAll(employeeRepository.findAllEmployeeIds());
+        employeeIds = loaded;
+        log.info("Cached {} employee ids", loaded.size());
+    }
+}
@@ -0,0 +1,349 @@
+package com.attendance_management.service;
+
+import com.attendance_management.dto.ExportJobDTO;
+import com.attendance_management.model.ExportJobStatus;
+import com.attendance_management.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Background generation of attendance and leave exports. Each job writes its
+ * workbook into a local spool directory and reports progress in employees
+ * written. The workbook always covers the month of startDate, so results for
+ * months that have ended are kept on disk keyed by (scope, month) together with
+ * the month's data version, and are served again until attendance or leave data
+ * of that month changes. Cached results unused for the cache TTL, and the least
+ * recently used ones beyond the size limit, are evicted by the cleanup.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    private static final Pattern CACHED_FILE = Pattern.compile(
+        "(all|emp\\d+)_(\\d{4}-\\d{2})_v(\\d+)\\.xlsx");
+
+    private final ExportService exportService;
+    private final AttendanceDataVersions attendanceDataVersions;
+    private final EmployeeRepository employeeRepository;
+    private final TaskExecutor exportJobExecutor;
+    private final Path spoolDirectory;
+    private final Duration jobTtl;
+    private final Duration cacheTtl;
+    private final int cacheMaxFiles;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> runningByKey = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+
+    public ExportJobService(ExportService exportService,
+                            AttendanceDataVersions attendanceDataVersions,
+                            EmployeeRepository employeeRepository,
+                            @Qualifier("exportJobExecutor") TaskExecutor exportJobExecutor,
+                            @Value("${export.jobs.spool-directory:export-spool}") String spoolDirectory,
+                            @Value("${export.jobs.ttl-minutes:60}") long jobTtlMinutes,
+                            @Value("${export.jobs.cache-ttl-days:7}") long cacheTtlDays,
+                            @Value("${export.jobs.cache-max-files:200}") int cacheMaxFiles) {
+        this.exportService = exportService;
+        this.attendanceDataVersions = attendanceDataVersions;
+        this.employeeRepository = employeeRepository;
+        this.exportJobExecutor = exportJobExecutor;
+        this.spoolDirectory = Paths.get(spoolDirectory);
+        this.jobTtl = Duration.ofMinutes(jobTtlMinutes);
+        this.cacheTtl = Duration.ofDays(cacheTtlDays);
+        this.cacheMaxFiles = cacheMaxFiles;
+    }
+
+    /**
+     * Submit an export of one employee, or of everyone when employeeId is null
+     *
+     * @return A completed job when an up-to-date result is cached, the job already
+     *         running for the same export, or a newly queued job
+     */
+    public ExportJobDTO submit(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        exportService.validateExport(employeeId, startDate, endDate);
+
+        String key = cacheKey(employeeId, startDate);
+        // The export covers the month of startDate; only ended months can be reused
+        boolean cacheable = startDate.withDayOfMonth(startDate.lengthOfMonth()).isBefore(LocalDate.now());
+        long version = cacheable ? attendanceDataVersions.versionOf(startDate) : -1L;
+
+        if (cacheable) {
+            CachedResult cached = results.get(key);
+            if (cached != null && cached.version == version && Files.exists(cached.file)) {
+                cached.lastUsed = LocalDateTime.now();
+                Job job = new Job(employeeId, startDate, endDate, key, version);
+                job.cached = true;
+                job.complete(cached.file);
+                jobs.put(job.id, job);
+                return job.toDTO();
+            }
+            if (cached != null && results.remove(key, cached)) {
+                deleteQuietly(cached.file);
+            }
+        }
+
+        Job job = new Job(employeeId, startDate, endDate, key, version);
+        Job running = runningByKey.putIfAbsent(key, job);
+        if (running != null && running.version == version) {
+            return running.toDTO();
+        }
+        if (running != null) {
+            runningByKey.put(key, job);
+        }
+        jobs.put(job.id, job);
+        try {
+            exportJobExecutor.execute(() -> run(job, cacheable));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            runningByKey.remove(key, job);
+            throw new IllegalStateException("Too many export jobs queued, try again later");
+        }
+        return job.toDTO();
+    }
+
+    public ExportJobDTO getJob(String jobId) {
+        return getJobOrThrow(jobId).toDTO();
+    }
+
+    /**
+     * Spool file of a completed job
+     */
+    public Path getResultFile(String jobId) {
+        Job job = getJobOrThrow(jobId);
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new IllegalStateException("Export job " + jobId + " is " + job.status);
+        }
+        return job.file;
+    }
+
+    /**
+     * Copy a spool file to the response with FileChannel.transferTo
+     */
+    public void transferTo(Path file, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Drop finished jobs past their TTL, evict stale or surplus cached results
+     * and delete spool files nothing refers to
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:300000}")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobTtl);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.completedAt != null && job.completedAt.isBefore(cutoff);
+            if (expired && job.file != null && !isCached(job.file)) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+
+        LocalDateTime cacheCutoff = LocalDateTime.now().minus(cacheTtl);
+        results.values().removeIf(result -> {
+            boolean stale = result.lastUsed.isBefore(cacheCutoff);
+            if (stale) {
+                evict(result);
+            }
+            return stale;
+        });
+        int surplus = results.size() - cacheMaxFiles;
+        if (surplus > 0) {
+            results.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().lastUsed))
+                .limit(surplus)
+                .toList()
+                .forEach(entry -> {
+                    if (results.remove(entry.getKey(), entry.getValue())) {
+                        evict(entry.getValue());
+                    }
+                });
+        }
+    }
+
+    /**
+     * Create the spool directory, remove partial files and re-index cached results
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSpool() throws IOException {
+        Files.createDirectories(spoolDirectory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDirectory)) {
+            for (Path file : files) {
+                Matcher matcher = CACHED_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    String key = matcher.group(1) + "_" + matcher.group(2);
+                    CachedResult result = new CachedResult(file, Long.parseLong(matcher.group(3)));
+                    result.lastUsed = LocalDateTime.ofInstant(
+                        Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+                    results.put(key, result);
+                } else {
+                    deleteQuietly(file);
+                }
+            }
+        }
+        log.info("Export spool {} holds {} cached results", spoolDirectory.toAbsolutePath(), results.size());
+    }
+
+    private void run(Job job, boolean cacheable) {
+        job.status = ExportJobStatus.RUNNING;
+        Path part = spoolDirectory.resolve(job.id + ".part");
+        try {
+            job.totalEmployees = job.employeeId != null ? 1 : (int) employeeRepository.count();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                exportService.streamAttendanceAndLeaves(job.employeeId, job.startDate, job.endDate, out,
+                    job.employeesProcessed::set);
+            }
+            Path target = spoolDirectory.resolve(cacheable
+                ? job.key + "_v" + job.version + ".xlsx"
+                : "job-" + job.id + ".xlsx");
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (cacheable) {
+                // A job started before a data change may finish after the one started after it
+                CachedResult previous = results.get(job.key);
+                if (previous == null || previous.version <= job.version) {
+                    results.put(job.key, new CachedResult(target, job.version));
+                    if (previous != null && !previous.file.equals(target)) {
+                        deleteQuietly(previous.file);
+                    }
+                }
+            }
+            job.complete(target);
+            log.info("Export job {} wrote {} employees to {}", job.id, job.employeesProcessed.get(), target);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            job.error = e.getMessage();
+            job.status = ExportJobStatus.FAILED;
+            job.completedAt = LocalDateTime.now();
+            log.error("Export job {} failed: {}", job.id, e.getMessage(), e);
+        } finally {
+            runningByKey.remove(job.key, job);
+        }
+    }
+
+    private Job getJobOrThrow(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    // Jobs still referring to the file delete it themselves once they expire
+    private void evict(CachedResult result) {
+        if (jobs.values().stream().noneMatch(job -> result.file.equals(job.file))) {
+            deleteQuietly(result.file);
+        }
+    }
+
+    private boolean isCached(Path file) {
+        return results.values().stream().anyMatch(result -> result.file.equals(file));
+    }
+
+    private static String cacheKey(Long employeeId, LocalDate startDate) {
+        return (employeeId != null ? "emp" + employeeId : "all") + "_" + YearMonth.from(startDate);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class CachedResult {
+        private final Path file;
+        private final long version;
+        private volatile LocalDateTime lastUsed = LocalDateTime.now();
+
+        private CachedResult(Path file, long version) {
+            this.file = file;
+            this.version = version;
+        }
+    }
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long employeeId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String key;
+        private final long version;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger employeesProcessed = new AtomicInteger();
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile int totalEmployees;
+        private volatile boolean cached;
+        private volatile String error;
+        private volatile Path file;
+        private volatile LocalDateTime completedAt;
+
+        private Job(Long employeeId, LocalDate startDate, LocalDate endDate, String key, long version) {
+            this.employeeId = employeeId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.key = key;
+            this.version = version;
+        }
+
+        private void complete(Path result) {
+            file = result;
+            completedAt = LocalDateTime.now();
+            status = ExportJobStatus.COMPLETED;
+        }
+
+        private ExportJobDTO toDTO() {
+            ExportJobDTO dto = new ExportJobDTO();
+            dto.setJobId(id);
+            dto.setEmployeeId(employeeId);
+            dto.setStartDate(startDate);
+            dto.setEndDate(endDate);
+            dto.setStatus(status);
+            dto.setEmployeesProcessed(employeesProcessed.get());
+            dto.setTotalEmployees(totalEmployees);
+            dto.setCached(cached);
+            dto.setError(error);
+            dto.setCreatedAt(createdAt);
+            dto.setCompletedAt(completedAt);
+            return dto;
+        }
+    }
+}
@@ -6,46 +6,113 @@ import com.attendance_management.repository.EmployeeRepository;
 import com.attendance_management.repository.LeaveRequestRepository;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntConsumer;
 
 @Service
 public class ExportService {
 
+    private static final IntConsumer NO_PROGRESS = written -> { };
+
+    private static final String[] HEADERS = {"Date", "Attendance Count", "Leave Count"};
+    // Fixed widths in 1/256 of a character, wide enough for the header and employee name rows
+    private static final int[] COLUMN_WIDTHS = {14 * 256, 18 * 256, 14 * 256};
+
     private final EmployeeRepository employeeRepository;
     private final AttendanceRepository attendanceRepository;
     private final LeaveRequestRepository leaveRequestRepository;
+    private final int employeePageSize;
+    private final int streamingRowWindow;
 
     public ExportService(EmployeeRepository employeeRepository,
                          AttendanceRepository attendanceRepository,
-                         LeaveRequestRepository leaveRequestRepository) {
+                         LeaveRequestRepository leaveRequestRepository,
+                         @Value("${export.employee-page-size:1000}") int employeePageSize,
+                         @Value("${export.streaming-row-window:200}") int streamingRowWindow) {
         this.employeeRepository = employeeRepository;
         this.attendanceRepository = attendanceRepository;
         this.leaveRequestRepository = leaveRequestRepository;
+        this.employeePageSize = employeePageSize;
+        this.streamingRowWindow = streamingRowWindow;
     }
 
     // Exports for all employees for a given date range
     public byte[] exportAttendanceAndLeavesForAll(LocalDate startDate, LocalDate endDate) throws IOException {
         validateDates(startDate, endDate);
-        List<Employee> employees = employeeRepository.findAll();
-        return generateWorkbook(employees, startDate, endDate);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            writeWorkbook(workbook, null, startDate, endDate, baos, NO_PROGRESS);
+        }
+        return baos.toByteArray();
     }
 
     // Exports for a single employee by id for a given date range
     public byte[] exportAttendanceAndLeavesForEmployee(Long employeeId, LocalDate startDate, LocalDate endDate) 
             throws IOException {
         validateDates(startDate, endDate);
+        Employee employee = getEmployeeOrThrow(employeeId);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            writeWorkbook(workbook, employee, startDate, endDate, baos, NO_PROGRESS);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream the export for all employees, or for one when employeeId is given, to the output.
+     * Only a window of rows is held in memory; flushed rows go to a compressed temp file.
+     * Call {@link #validateExport} first, as nothing can be reported once streaming has begun.
+     */
+    public void streamAttendanceAndLeaves(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        streamAttendanceAndLeaves(employeeId, startDate, endDate, out, NO_PROGRESS);
+    }
+
+    /**
+     * Stream the export as above, reporting the number of employees written after each page
+     */
+    public void streamAttendanceAndLeaves(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out,
+                                          IntConsumer progress) throws IOException {
+        Employee employee = employeeId != null ? getEmployeeOrThrow(employeeId) : null;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(streamingRowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            writeWorkbook(workbook, employee, startDate, endDate, out, progress);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Check the dates and the employee of an export before it starts streaming
+     */
+    public void validateExport(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        validateDates(startDate, endDate);
+        if (employeeId != null) {
+            getEmployeeOrThrow(employeeId);
+        }
+    }
+
+    private Employee getEmployeeOrThrow(Long employeeId) {
         Optional<Employee> optEmp = employeeRepository.findById(employeeId);
         if (optEmp.isEmpty()) {
             throw new IllegalArgumentException("Employee with id " + employeeId + " not found");
         }
-        return generateWorkbook(List.of(optEmp.get()), startDate, endDate);
+        return optEmp.get();
     }
 
     private void validateDates(LocalDate startDate, LocalDate endDate) {
@@ -64,17 +131,46 @@ public class ExportService {
         }
     }
 
-    // Generates the Excel workbook for the given employees and date range
-    private byte[] generateWorkbook(List<Employee> employees, LocalDate startDate, LocalDate endDate) 
-            throws IOException {
-        XSSFWorkbook workbook = new XSSFWorkbook();
+    // Writes the Excel workbook for one employee, or all employees page by page, and the date range
+    private void writeWorkbook(Workbook workbook, Employee employee, LocalDate startDate, LocalDate endDate,
+                               OutputStream out, IntConsumer progress) throws IOException {
+        // Get the first and last day of the month from the startDate
+        LocalDate monthStart = startDate.withDayOfMonth(1);
+        LocalDate monthEnd = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
         Sheet sheet = workbook.createSheet("Attendance & Leaves");
+        for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+            sheet.setColumnWidth(i, COLUMN_WIDTHS[i]);
+        }
 
         // Create styles
         CellStyle headerStyle = createHeaderStyle(workbook);
         CellStyle dataStyle = createDataStyle(workbook);
 
         int rowCount = 0;
+        if (employee != null) {
+            writeEmployees(sheet, List.of(employee), monthStart, monthEnd, rowCount, headerStyle, dataStyle);
+            progress.accept(1);
+        } else {
+            long afterId = 0L;
+            int written = 0;
+            List<Employee> page;
+            while (!(page = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                    afterId, PageRequest.of(0, employeePageSize))).isEmpty()) {
+                rowCount = writeEmployees(sheet, page, monthStart, monthEnd, rowCount, headerStyle, dataStyle);
+                afterId = page.get(page.size() - 1).getId();
+                written += page.size();
+                progress.accept(written);
+            }
+        }
+
+        workbook.write(out);
+    }
+
+    private int writeEmployees(Sheet sheet, List<Employee> employees, LocalDate monthStart, LocalDate monthEnd,
+                               int rowCount, CellStyle headerStyle, CellStyle dataStyle) {
+        MonthCounts counts = loadMonthCounts(employees, monthStart, monthEnd);
+
         // Iterate over each employee
         for (Employee emp : employees) {
             // Create a merged row for employee header
@@ -86,16 +182,14 @@ public class ExportService {
 
             // Create column header for the table below
             Row tableHeader = sheet.createRow(rowCount++);
-            String[] headers = {"Date", "Attendance Count", "Leave Count"};
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = tableHeader.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(HEADERS[i]);
                 cell.setCellStyle(headerStyle);
             }
 
-            // Get the first and last day of the month from the startDate
-            LocalDate monthStart = startDate.withDayOfMonth(1);
-            LocalDate monthEnd = startDate.withDayOfMonth(startDate.lengthOfMonth());
+            int[] attendanceCounts = counts.attendance(emp.getId());
+            int[] leaveCounts = counts.leaves(emp.getId());
 
             // For each day in the month
             for (LocalDate date = monthStart; !date.isAfter(monthEnd); date = date.plusDays(1)) {
@@ -104,14 +198,8 @@ public class ExportService {
                 dateCell.setCellValue(date.toString());
                 dateCell.setCellStyle(dataStyle);
 
-                int attendanceCount = attendanceRepository.countByEmployeeIdAndDate(
-                        emp.getId(),
-                        date.getYear(),
-                        date.getMonthValue(),
-                        date.getDayOfMonth());
-                int leaveCount = leaveRequestRepository.countByEmployeeIdAndDateInLeaveRange(
-                        emp.getId(),
-                        date);
+                int attendanceCount = attendanceCounts[date.getDayOfMonth() - 1];
+                int leaveCount = leaveCounts[date.getDayOfMonth() - 1];
 
                 Cell attCell = dataRow.createCell(1);
                 attCell.setCellValue(attendanceCount);
@@ -124,16 +212,58 @@ public class ExportService {
             // Add an empty row between employees
             rowCount++;
         }
+        return rowCount;
+    }
+
+    /**
+     * Attendance and leave counts per employee and day of the month for a page
+     * of employees, loaded with one range query each instead of two queries per
+     * employee and day
+     */
+    private MonthCounts loadMonthCounts(List<Employee> employees, LocalDate monthStart, LocalDate monthEnd) {
+        int days = monthEnd.getDayOfMonth();
+        MonthCounts counts = new MonthCounts(days);
+        List<Long> employeeIds = employees.stream().map(Employee::getId).toList();
 
-        // Auto-size columns
-        for (int i = 0; i < 3; i++) {
-            sheet.autoSizeColumn(i);
+        for (Object[] row : attendanceRepository.countPerEmployeeAndDay(
+                employeeIds, monthStart.atStartOfDay(), monthEnd.plusDays(1).atStartOfDay())) {
+            LocalDate day = toLocalDate(row[1]);
+            counts.attendanceByEmployee.computeIfAbsent(((Number) row[0]).longValue(), id -> new int[days])
+                    [day.getDayOfMonth() - 1] += ((Number) row[2]).intValue();
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-        return baos.toByteArray();
+        for (Object[] row : leaveRequestRepository.findLeaveRangesOverlapping(employeeIds, monthStart, monthEnd)) {
+            int[] leaveDays = counts.leavesByEmployee.computeIfAbsent((Long) row[0], id -> new int[days]);
+            LocalDate from = ((LocalDate) row[1]).isBefore(monthStart) ? monthStart : (LocalDate) row[1];
+            LocalDate to = ((LocalDate) row[2]).isAfter(monthEnd) ? monthEnd : (LocalDate) row[2];
+            for (int day = from.getDayOfMonth(); day <= to.getDayOfMonth(); day++) {
+                leaveDays[day - 1]++;
+            }
+        }
+        return counts;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    // Dense day arrays per employee; employees without rows share a zero array
+    private static final class MonthCounts {
+        private final Map<Long, int[]> attendanceByEmployee = new HashMap<>();
+        private final Map<Long, int[]> leavesByEmployee = new HashMap<>();
+        private final int[] none;
+
+        private MonthCounts(int days) {
+            this.none = new int[days];
+        }
+
+        private int[] attendance(Long employeeId) {
+            return attendanceByEmployee.getOrDefault(employeeId, none);
+        }
+
+        private int[] leaves(Long employeeId) {
+            return leavesByEmployee.getOrDefault(employeeId, none);
+        }
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
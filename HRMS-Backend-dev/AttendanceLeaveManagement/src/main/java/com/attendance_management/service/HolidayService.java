@@ -0,0 +1,67 @@
+package com.attendance_management.service;
+
+import com.attendance_management.config.WorkingCalendarProperties;
+import com.attendance_management.model.Holiday;
+import com.attendance_management.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class HolidayService {
+    private final HolidayRepository holidayRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final WorkingCalendarProperties calendarProperties;
+
+    public List<Holiday> getHolidays(String location, int year) {
+        return holidayRepository.findByLocationAndHolidayDateBetween(
+            resolveLocation(location),
+            LocalDate.of(year, 1, 1),
+            LocalDate.of(year, 12, 31));
+    }
+
+    @Transactional
+    public Holiday addHoliday(Holiday holiday) {
+        if (holiday.getHolidayDate() == null) {
+            throw new IllegalArgumentException("Holiday date is required");
+        }
+        holiday.setLocation(resolveLocation(holiday.getLocation()));
+        Holiday saved = holidayRepository.save(holiday);
+        reloadAfterCommit();
+        return saved;
+    }
+
+    @Transactional
+    public void deleteHoliday(Long holidayId) {
+        holidayRepository.deleteById(holidayId);
+        reloadAfterCommit();
+    }
+
+    public void reload() {
+        workingDayCalendar.reload();
+    }
+
+    // Reloading before commit could let a concurrent rebuild cache the old holiday list
+    private void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            workingDayCalendar.reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                workingDayCalendar.reload();
+            }
+        });
+    }
+
+    private String resolveLocation(String location) {
+        return location != null && !location.isBlank() ? location : calendarProperties.getDefaultLocation();
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -21,6 +20,9 @@ public class LeaveService {
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveBalanceRepository leaveBalanceRepository;
     private final EmployeeRepository employeeRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final AttendanceChangeTracker attendanceChangeTracker;
+    private final AttendanceDataVersions attendanceDataVersions;
 
     @Transactional
     public void initializeLeaveBalances(Long employeeId) {
@@ -54,7 +56,7 @@ public class LeaveService {
     @Transactional
     public LeaveResponseDTO applyLeave(LeaveRequestDTO leaveRequestDTO) {
         // Validate employee exists
-        employeeRepository.findByEmployeeId(leaveRequestDTO.getEmployeeId())
+        Employee employee = employeeRepository.findByEmployeeId(leaveRequestDTO.getEmployeeId())
             .orElseThrow(() -> new RuntimeException("Employee not found"));
             
         // Ensure leave balances exist
@@ -64,7 +66,8 @@ public class LeaveService {
         validateLeaveDates(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
         
         // Calculate leave duration
-        long leaveDays = calculateLeaveDuration(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
+        long leaveDays = calculateLeaveDuration(
+            employee.getWorkLocation(), leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
         
         // Check leave balance
         validateLeaveBalance(leaveRequestDTO.getEmployeeId(), leaveRequestDTO.getLeaveType(), leaveDays);
@@ -82,6 +85,8 @@ public class LeaveService {
         leaveRequest.setStatus(LeaveStatus.PENDING);
         
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        // Exports count pending leaves too
+        attendanceDataVersions.changed(savedRequest.getStartDate(), savedRequest.getEndDate());
         return convertToResponseDTO(savedRequest);
     }
 
@@ -145,8 +150,9 @@ public class LeaveService {
         }
     }
 
-    private long calculateLeaveDuration(LocalDate startDate, LocalDate endDate) {
-        return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    // Weekly-offs and holidays of the employee's location are not charged against the balance
+    private long calculateLeaveDuration(String location, LocalDate startDate, LocalDate endDate) {
+        return workingDayCalendar.workingDaysBetween(location, startDate, endDate);
     }
 
     private void validateLeaveBalance(Long employeeId, LeaveType leaveType, long leaveDays) {
@@ -193,6 +199,9 @@ public class LeaveService {
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
             employee.setStatus(EmployeeStatus.ON_LEAVE);
             employeeRepository.save(employee);
+
+            attendanceChangeTracker.leaveChanged(
+                request.getEmployeeId(), request.getStartDate(), request.getEndDate());
         }
         
         return leaveRequestRepository.save(request);
@@ -207,7 +216,10 @@ public class LeaveService {
             .orElseThrow(() -> new RuntimeException("Leave balance not found"));
             
         // Increment used leaves by the duration of the leave
-        long leaveDays = calculateLeaveDuration(request.getStartDate(), request.getEndDate());
+        String location = employeeRepository.findByEmployeeId(request.getEmployeeId())
+            .map(Employee::getWorkLocation)
+            .orElse(null);
+        long leaveDays = calculateLeaveDuration(location, request.getStartDate(), request.getEndDate());
         int newUsedLeaves = balance.getUsedLeaves() + (int) leaveDays;
         balance.setUsedLeaves(newUsedLeaves);
         balance.setRemainingLeaves(balance.getTotalLeaves() - newUsedLeaves);
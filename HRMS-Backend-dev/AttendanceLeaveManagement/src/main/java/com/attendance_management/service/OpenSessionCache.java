@@ -0,0 +1,104 @@
+package com.attendance_management.service;
+
+import com.attendance_management.model.Attendance;
+import com.attendance_management.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Today's open attendance sessions (checked in, not yet checked out) keyed by
+ * employeeId. Warmed from the database at startup and rolled over at midnight.
+ * The cache is local to this node; a miss falls back to the indexed
+ * (employee_id, work_date) lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OpenSessionCache {
+
+    private final AttendanceRepository attendanceRepository;
+
+    private final Map<Long, OpenSession> sessions = new ConcurrentHashMap<>();
+    private volatile LocalDate day = LocalDate.now();
+
+    public record OpenSession(Long attendanceId, LocalDateTime checkInTime, LocalDateTime date) {
+    }
+
+    public void put(Attendance attendance) {
+        if (attendance.getWorkDate() != null && attendance.getWorkDate().equals(currentDay())) {
+            sessions.put(attendance.getEmployeeId(),
+                new OpenSession(attendance.getId(), attendance.getCheckInTime(), attendance.getDate()));
+        }
+    }
+
+    /**
+     * Remove and return the open session of the employee for the given day
+     */
+    public OpenSession take(Long employeeId, LocalDate workDate) {
+        if (workDate.equals(currentDay())) {
+            OpenSession session = sessions.remove(employeeId);
+            if (session != null) {
+                return session;
+            }
+        }
+        return attendanceRepository.findByEmployeeIdAndWorkDate(employeeId, workDate)
+            .filter(attendance -> attendance.getCheckOutTime() == null)
+            .map(attendance -> new OpenSession(attendance.getId(), attendance.getCheckInTime(), attendance.getDate()))
+            .orElse(null);
+    }
+
+    /**
+     * Forget a cached session whose row was changed elsewhere; the next take reads it back
+     */
+    public void evict(Long employeeId) {
+        sessions.remove(employeeId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            attendanceRepository.backfillWorkDates();
+        } catch (Exception e) {
+            log.warn("Could not backfill attendance work dates: {}", e.getMessage());
+        }
+        load(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${attendance.open-sessions.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        load(LocalDate.now());
+    }
+
+    // Also rolls over lazily if the midnight job has not run yet
+    private LocalDate currentDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(day)) {
+            synchronized (this) {
+                if (!today.equals(day)) {
+                    sessions.clear();
+                    day = today;
+                }
+            }
+        }
+        return today;
+    }
+
+    private synchronized void load(LocalDate today) {
+        sessions.clear();
+        day = today;
+        for (Attendance attendance : attendanceRepository.findByWorkDateAndCheckOutTimeIsNull(today)) {
+            sessions.put(attendance.getEmployeeId(),
+                new OpenSession(attendance.getId(), attendance.getCheckInTime(), attendance.getDate()));
+        }
+        log.info("Loaded {} open attendance sessions for {}", sessions.size(), today);
+    }
+}
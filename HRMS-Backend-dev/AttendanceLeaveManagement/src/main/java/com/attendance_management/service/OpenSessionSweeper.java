@@ -0,0 +1,138 @@
+package com.attendance_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Closes attendance sessions left open by a forgotten check-out once their
+ * day is over. The check-out time comes from the configured policy, either
+ * the shift end of that day or the check-in plus a cap, and status and
+ * remarks follow the same rules as a regular check-out. Sessions are closed
+ * in batches with one set-based update each.
+ */
+@Service
+@Slf4j
+public class OpenSessionSweeper {
+
+    public enum Policy {
+        SHIFT_END,
+        CAP_HOURS
+    }
+
+    static final String AUTO_CLOSE_DESCRIPTION = "Auto-closed without check-out";
+
+    private static final String SELECT_OPEN_SQL =
+        "SELECT id, employee_id, work_date FROM attendance " +
+        "WHERE check_out_time IS NULL AND work_date < :today AND id > :afterId ORDER BY id LIMIT :batchSize";
+
+    // A session opened after the shift end closes at its check-in and counts as absent
+    private static final String SHIFT_END_CLOSE = "GREATEST(check_in_time, TIMESTAMP(work_date, :shiftEnd))";
+    private static final String CAP_HOURS_CLOSE = "check_in_time + INTERVAL :capMinutes MINUTE";
+
+    // Assignments run left to right, so later ones see the new check_out_time and working_hours
+    private static final String CLOSE_SQL =
+        "UPDATE attendance SET " +
+        "check_out_time = %s, " +
+        "working_hours = TIMESTAMPDIFF(MINUTE, check_in_time, check_out_time) / 60, " +
+        "status = CASE WHEN working_hours >= " + AttendanceService.REQUIRED_HOURS +
+        " THEN 'PRESENT' WHEN working_hours >= " + AttendanceService.HALF_DAY_HOURS +
+        " THEN 'HALF_DAY' ELSE 'ABSENT' END, " +
+        "remarks = CASE WHEN working_hours >= " + AttendanceService.REQUIRED_HOURS +
+        " THEN remarks WHEN working_hours >= " + AttendanceService.HALF_DAY_HOURS +
+        " THEN '" + AttendanceService.HALF_DAY_REMARKS + "' ELSE '" + AttendanceService.ABSENT_REMARKS + "' END, " +
+        "work_description = COALESCE(work_description, '" + AUTO_CLOSE_DESCRIPTION + "') " +
+        "WHERE id IN (:ids) AND check_out_time IS NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceChangeTracker attendanceChangeTracker;
+    private final Policy policy;
+    private final LocalTime shiftEnd;
+    private final int capMinutes;
+    private final int batchSize;
+
+    public OpenSessionSweeper(NamedParameterJdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              AttendanceChangeTracker attendanceChangeTracker,
+                              @Value("${attendance.auto-close.policy:SHIFT_END}") Policy policy,
+                              @Value("${attendance.auto-close.shift-end:18:00}") String shiftEnd,
+                              @Value("${attendance.auto-close.cap-hours:9}") double capHours,
+                              @Value("${attendance.auto-close.batch-size:2000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attendanceChangeTracker = attendanceChangeTracker;
+        this.policy = policy;
+        this.shiftEnd = LocalTime.parse(shiftEnd);
+        this.capMinutes = (int) Math.round(capHours * 60);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Close every session still open from a day before today
+     *
+     * @return Number of sessions closed
+     */
+    @Scheduled(cron = "${attendance.auto-close.cron:0 15 0 * * *}")
+    public int sweep() {
+        LocalDate today = LocalDate.now();
+        String closeSql = String.format(CLOSE_SQL, policy == Policy.SHIFT_END ? SHIFT_END_CLOSE : CAP_HOURS_CLOSE);
+        int closed = 0;
+        long afterId = 0L;
+        while (true) {
+            long batchAfterId = afterId;
+            Batch batch = transactionTemplate.execute(status -> closeBatch(closeSql, today, batchAfterId));
+            if (batch == null || batch.lastId() == null) {
+                break;
+            }
+            closed += batch.closed();
+            afterId = batch.lastId();
+        }
+        if (closed > 0) {
+            log.info("Auto-closed {} attendance sessions before {} using {}", closed, today, policy);
+        }
+        return closed;
+    }
+
+    private Batch closeBatch(String closeSql, LocalDate today, long afterId) {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, Set<LocalDate>> daysByEmployee = new HashMap<>();
+        jdbcTemplate.query(SELECT_OPEN_SQL, new MapSqlParameterSource()
+                .addValue("today", Date.valueOf(today))
+                .addValue("afterId", afterId)
+                .addValue("batchSize", batchSize),
+            rs -> {
+                ids.add(rs.getLong("id"));
+                daysByEmployee.computeIfAbsent(rs.getLong("employee_id"), id -> new TreeSet<>())
+                    .add(rs.getDate("work_date").toLocalDate());
+            });
+        if (ids.isEmpty()) {
+            return new Batch(0, null);
+        }
+
+        int closed = jdbcTemplate.update(closeSql, new MapSqlParameterSource()
+            .addValue("ids", ids)
+            .addValue("shiftEnd", shiftEnd.toString())
+            .addValue("capMinutes", capMinutes));
+        attendanceChangeTracker.attendanceChanged(daysByEmployee);
+        return new Batch(closed, ids.get(ids.size() - 1));
+    }
+
+    private record Batch(int closed, Long lastId) {
+    }
+}
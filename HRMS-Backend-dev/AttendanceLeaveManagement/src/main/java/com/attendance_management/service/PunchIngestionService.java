@@ -0,0 +1,256 @@
+package com.attendance_management.service;
+
+import com.attendance_management.dto.PunchEventDTO;
+import com.attendance_management.dto.PunchIngestResultDTO;
+import com.attendance_management.model.Attendance;
+import com.attendance_management.model.AttendanceStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Bulk ingestion of punch events from badge readers and turnstiles. Punches
+ * are collapsed to the first and last punch per employee and day, which become
+ * the check-in and check-out of that day's attendance row. Rows are written
+ * with batched upserts that merge with punches already stored, so a batch can
+ * be resent safely.
+ */
+@Service
+@Slf4j
+public class PunchIngestionService {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO attendance (employee_id, work_date, date, check_in_time, check_out_time, " +
+        "working_hours, status, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE " +
+        // Assignments run left to right; check_out_time still sees the stored check_in_time
+        "check_out_time = NULLIF(" +
+        "GREATEST(COALESCE(check_out_time, check_in_time), COALESCE(VALUES(check_out_time), VALUES(check_in_time))), " +
+        "LEAST(check_in_time, VALUES(check_in_time))), " +
+        "check_in_time = LEAST(check_in_time, VALUES(check_in_time)), " +
+        "date = LEAST(date, VALUES(date)), " +
+        "working_hours = IF(check_out_time IS NULL, NULL, TIMESTAMPDIFF(MINUTE, check_in_time, check_out_time) / 60), " +
+        "status = CASE WHEN check_out_time IS NULL OR working_hours >= " + AttendanceService.REQUIRED_HOURS +
+        " THEN 'PRESENT' WHEN working_hours >= " + AttendanceService.HALF_DAY_HOURS +
+        " THEN 'HALF_DAY' ELSE 'ABSENT' END, " +
+        "remarks = CASE WHEN check_out_time IS NULL OR working_hours >= " + AttendanceService.REQUIRED_HOURS +
+        " THEN NULL WHEN working_hours >= " + AttendanceService.HALF_DAY_HOURS +
+        " THEN '" + AttendanceService.HALF_DAY_REMARKS + "' ELSE '" + AttendanceService.ABSENT_REMARKS + "' END";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader punchReader;
+    private final EmployeeIdCache employeeIdCache;
+    private final OpenSessionCache openSessionCache;
+    private final AttendanceChangeTracker attendanceChangeTracker;
+    private final int batchSize;
+    private final int maxEvents;
+
+    public PunchIngestionService(JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper,
+                                 EmployeeIdCache employeeIdCache,
+                                 OpenSessionCache openSessionCache,
+                                 AttendanceChangeTracker attendanceChangeTracker,
+                                 @Value("${attendance.ingest.batch-size:1000}") int batchSize,
+                                 @Value("${attendance.ingest.max-events:200000}") int maxEvents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.punchReader = objectMapper.readerFor(PunchEventDTO.class);
+        this.employeeIdCache = employeeIdCache;
+        this.openSessionCache = openSessionCache;
+        this.attendanceChangeTracker = attendanceChangeTracker;
+        this.batchSize = batchSize;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * Ingest newline-delimited JSON punch events
+     */
+    public PunchIngestResultDTO ingestNdjson(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        Batch batch = new Batch();
+        try (MappingIterator<PunchEventDTO> events = punchReader.readValues(body)) {
+            while (events.hasNextValue()) {
+                PunchEventDTO event = events.nextValue();
+                batch.add(event.getEmployeeId(), event.getTimestamp());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed punch event after " + batch.received + " events", e);
+        }
+        return write(batch, started);
+    }
+
+    /**
+     * Ingest CSV punch events: employeeId,timestamp[,deviceId], with an optional header row
+     */
+    public PunchIngestResultDTO ingestCsv(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        Batch batch = new Batch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",", 3);
+            if (first && !fields[0].trim().chars().allMatch(Character::isDigit)) {
+                first = false;
+                continue; // Header
+            }
+            first = false;
+            try {
+                batch.add(Long.valueOf(fields[0].trim()),
+                    fields.length > 1 ? LocalDateTime.parse(fields[1].trim()) : null);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                batch.add(null, null);
+            }
+        }
+        return write(batch, started);
+    }
+
+    private PunchIngestResultDTO write(Batch batch, long started) {
+        List<Map.Entry<DayKey, PunchDay>> days = new ArrayList<>(batch.days.entrySet());
+        // Key order keeps concurrent batches from locking rows in opposite order
+        days.sort(Map.Entry.comparingByKey());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, days, batchSize, (ps, entry) -> {
+            DayKey key = entry.getKey();
+            PunchDay day = entry.getValue();
+            boolean closed = day.last.isAfter(day.first);
+            ps.setLong(1, key.employeeId());
+            ps.setDate(2, Date.valueOf(key.workDate()));
+            ps.setTimestamp(3, Timestamp.valueOf(day.first));
+            ps.setTimestamp(4, Timestamp.valueOf(day.first));
+            if (closed) {
+                double hours = ChronoUnit.MINUTES.between(day.first, day.last) / 60.0;
+                Attendance attendance = new Attendance();
+                AttendanceService.updateAttendanceStatus(attendance, hours);
+                ps.setTimestamp(5, Timestamp.valueOf(day.last));
+                ps.setDouble(6, hours);
+                ps.setString(7, attendance.getStatus().name());
+                ps.setString(8, attendance.getRemarks());
+            } else {
+                ps.setNull(5, Types.TIMESTAMP);
+                ps.setNull(6, Types.DOUBLE);
+                ps.setString(7, AttendanceStatus.PRESENT.name());
+                ps.setNull(8, Types.VARCHAR);
+            }
+        });
+
+        Map<Long, List<LocalDate>> changed = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<DayKey, PunchDay> entry : days) {
+            DayKey key = entry.getKey();
+            changed.computeIfAbsent(key.employeeId(), id -> new ArrayList<>()).add(key.workDate());
+            if (key.workDate().equals(today)) {
+                openSessionCache.evict(key.employeeId());
+            }
+        }
+        attendanceChangeTracker.attendanceChanged(changed);
+
+        PunchIngestResultDTO result = new PunchIngestResultDTO();
+        result.setReceived(batch.received);
+        result.setAccepted(batch.accepted);
+        result.setInvalid(batch.invalid);
+        result.setUnknownEmployees(batch.unknown);
+        result.setAttendanceDays(days.size());
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000L);
+        log.info("Ingested {} punches into {} attendance days in {} ms ({} invalid, {} unknown employees)",
+            batch.accepted, days.size(), result.getElapsedMillis(), batch.invalid, batch.unknown);
+        return result;
+    }
+
+    private record DayKey(long employeeId, LocalDate workDate) implements Comparable<DayKey> {
+        @Override
+        public int compareTo(DayKey other) {
+            int byEmployee = Long.compare(employeeId, other.employeeId);
+            return byEmployee != 0 ? byEmployee : workDate.compareTo(other.workDate);
+        }
+    }
+
+    private static final class PunchDay {
+        private LocalDateTime first;
+        private LocalDateTime last;
+
+        private PunchDay(LocalDateTime punch) {
+            this.first = punch;
+            this.last = punch;
+        }
+
+        private void add(LocalDateTime punch) {
+            if (punch.isBefore(first)) {
+                first = punch;
+            } else if (punch.isAfter(last)) {
+                last = punch;
+            }
+        }
+    }
+
+    /**
+     * Punches of one request collapsed per employee and day
+     */
+    private final class Batch {
+        private final Set<Long> knownIds = employeeIdCache.snapshot();
+        private final Set<Long> rejectedIds = new HashSet<>();
+        private final Map<DayKey, PunchDay> days = new HashMap<>();
+        private int received;
+        private int accepted;
+        private int invalid;
+        private int unknown;
+
+        private void add(Long employeeId, LocalDateTime punch) {
+            if (++received > maxEvents) {
+                throw new IllegalArgumentException("Batch exceeds " + maxEvents + " punch events");
+            }
+            if (employeeId == null || punch == null) {
+                invalid++;
+                return;
+            }
+            if (!isKnown(employeeId)) {
+                unknown++;
+                return;
+            }
+            accepted++;
+            PunchDay day = days.get(new DayKey(employeeId, punch.toLocalDate()));
+            if (day == null) {
+                days.put(new DayKey(employeeId, punch.toLocalDate()), new PunchDay(punch));
+            } else {
+                day.add(punch);
+            }
+        }
+
+        // Ids missing from the snapshot are checked once per batch
+        private boolean isKnown(Long employeeId) {
+            if (knownIds.contains(employeeId)) {
+                return true;
+            }
+            if (rejectedIds.contains(employeeId)) {
+                return false;
+            }
+            if (employeeIdCache.exists(employeeId)) {
+                knownIds.add(employeeId);
+                return true;
+            }
+            rejectedIds.add(employeeId);
+            return false;
+        }
+    }
+}
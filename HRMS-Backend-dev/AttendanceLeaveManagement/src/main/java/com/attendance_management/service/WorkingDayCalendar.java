@@ -0,0 +1,172 @@
+package com.attendance_management.service;
+
+import com.attendance_management.config.WorkingCalendarProperties;
+import com.attendance_management.model.Holiday;
+import com.attendance_management.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Working-day calendar with configurable weekly-offs and per-location holidays.
+ * Each (location, year) is precomputed into a bitmap of working days with a
+ * running popcount per 64-day word, so counting the working days between two
+ * dates is constant time per year touched.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkingDayCalendar {
+
+    private final HolidayRepository holidayRepository;
+    private final WorkingCalendarProperties properties;
+
+    private final Map<String, YearBitmap> cache = new ConcurrentHashMap<>();
+
+    public boolean isWorkingDay(LocalDate date) {
+        return isWorkingDay(properties.getDefaultLocation(), date);
+    }
+
+    public boolean isWorkingDay(String location, LocalDate date) {
+        return yearBitmap(location, date.getYear()).isWorking(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Count working days between two dates, both inclusive
+     */
+    public int workingDaysBetween(LocalDate start, LocalDate end) {
+        return workingDaysBetween(properties.getDefaultLocation(), start, end);
+    }
+
+    public int workingDaysBetween(String location, LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        if (start.getYear() == end.getYear()) {
+            return yearBitmap(location, start.getYear())
+                .count(start.getDayOfYear() - 1, end.getDayOfYear());
+        }
+        YearBitmap first = yearBitmap(location, start.getYear());
+        int total = first.count(start.getDayOfYear() - 1, first.length);
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            total += yearBitmap(location, year).total();
+        }
+        return total + yearBitmap(location, end.getYear()).count(0, end.getDayOfYear());
+    }
+
+    /**
+     * Working days of a period as a bitset keyed by day offset from start
+     */
+    public BitSet workingDayMask(LocalDate start, LocalDate end) {
+        return workingDayMask(properties.getDefaultLocation(), start, end);
+    }
+
+    public BitSet workingDayMask(String location, LocalDate start, LocalDate end) {
+        int days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+        BitSet mask = new BitSet(Math.max(days, 0));
+        int offset = 0;
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            YearBitmap bitmap = yearBitmap(location, year);
+            int from = year == start.getYear() ? start.getDayOfYear() - 1 : 0;
+            int to = year == end.getYear() ? end.getDayOfYear() : bitmap.length;
+            for (int day = from; day < to; day++, offset++) {
+                if (bitmap.isWorking(day)) {
+                    mask.set(offset);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Drop every cached year so holidays and weekly-offs are re-read on next use
+     */
+    public void reload() {
+        cache.clear();
+    }
+
+    // Employees without a work location follow the default calendar
+    private YearBitmap yearBitmap(String location, int year) {
+        if (location == null || location.isBlank()) {
+            location = properties.getDefaultLocation();
+        }
+        String key = location + ":" + year;
+        YearBitmap bitmap = cache.get(key);
+        if (bitmap == null || bitmap.isExpired(properties.getCacheTtlMinutes())) {
+            bitmap = buildYear(location, year);
+            cache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    private YearBitmap buildYear(String location, int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int length = first.lengthOfYear();
+        long[] words = new long[(length + 63) / 64];
+
+        Set<DayOfWeek> weeklyOffs = properties.weeklyOffsFor(location);
+        int dayOfWeek = first.getDayOfWeek().getValue(); // 1 = Monday
+        for (int day = 0; day < length; day++) {
+            if (!weeklyOffs.contains(DayOfWeek.of(dayOfWeek))) {
+                words[day >>> 6] |= 1L << day;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+
+        for (Holiday holiday : holidayRepository.findByLocationAndHolidayDateBetween(
+                location, first, first.withDayOfYear(length))) {
+            int day = holiday.getHolidayDate().getDayOfYear() - 1;
+            words[day >>> 6] &= ~(1L << day);
+        }
+        return new YearBitmap(words, length);
+    }
+
+    private static final class YearBitmap {
+        final long[] words;
+        final int[] rankBefore; // Working days in all words before index i
+        final int length;
+        final long builtAt = System.nanoTime();
+
+        YearBitmap(long[] words, int length) {
+            this.words = words;
+            this.length = length;
+            this.rankBefore = new int[words.length + 1];
+            for (int i = 0; i < words.length; i++) {
+                rankBefore[i + 1] = rankBefore[i] + Long.bitCount(words[i]);
+            }
+        }
+
+        boolean isWorking(int day) {
+            return (words[day >>> 6] & (1L << day)) != 0;
+        }
+
+        int total() {
+            return rankBefore[words.length];
+        }
+
+        // Working days among day indexes [from, to)
+        int count(int from, int to) {
+            return rank(to) - rank(from);
+        }
+
+        // Working days among day indexes [0, day)
+        private int rank(int day) {
+            int word = day >>> 6;
+            int bits = day & 63;
+            if (bits == 0) {
+                return rankBefore[word];
+            }
+            return rankBefore[word] + Long.bitCount(words[word] & ((1L << bits) - 1));
+        }
+
+        boolean isExpired(long ttlMinutes) {
+            return System.nanoTime() - builtAt > TimeUnit.MINUTES.toNanos(ttlMinutes);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.payroll_management_system.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A statutory deduction on a monthly wage: paise arithmetic against the
+ * BigDecimal code it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal RATE = new BigDecimal("0.12");
+
+    private long wagePaise = 4_567_891L;
+    private BigDecimal wage = BigDecimal.valueOf(wagePaise, 2);
+
+    @Benchmark
+    public long paise() {
+        return Money.applyBasisPoints(wagePaise, 1_200);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return wage.multiply(RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,98 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Attendance;
+import com.payroll_management_system.model.AttendanceStatus;
+import com.payroll_management_system.model.LeaveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Absence math of one employee for one pay period: the day index against the
+ * per-day scan of the attendance and leave lists it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendanceDayIndexBenchmark {
+
+    private final LocalDate start = LocalDate.of(2024, 1, 10);
+    private final LocalDate end = LocalDate.of(2024, 2, 10);
+
+    private List<Attendance> attendances;
+    private List<LeaveRequest> leaves;
+    private BitSet workingDays;
+
+    @Setup
+    public void setUp() {
+        int days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+        workingDays = new BitSet(days);
+        attendances = new ArrayList<>();
+        for (int offset = 0; offset < days; offset++) {
+            LocalDate day = start.plusDays(offset);
+            if (day.getDayOfWeek().getValue() < 6) {
+                workingDays.set(offset);
+            }
+            Attendance attendance = new Attendance();
+            attendance.setDate(day.atTime(9, 0));
+            attendance.setStatus(offset % 7 == 3 ? AttendanceStatus.HALF_DAY : AttendanceStatus.PRESENT);
+            attendances.add(attendance);
+        }
+        LeaveRequest leave = new LeaveRequest();
+        leave.setStartDate(start.plusDays(12));
+        leave.setEndDate(start.plusDays(15));
+        leaves = List.of(leave);
+    }
+
+    @Benchmark
+    public int dayIndex() {
+        return AttendanceDayIndex.build(attendances, leaves, workingDays, start, end).unpaidAbsenceHalfDays();
+    }
+
+    @Benchmark
+    public int perDayScan() {
+        int halfDays = 0;
+        for (int offset = workingDays.nextSetBit(0); offset >= 0; offset = workingDays.nextSetBit(offset + 1)) {
+            LocalDate day = start.plusDays(offset);
+            boolean onLeave = false;
+            for (LeaveRequest leave : leaves) {
+                if (!day.isBefore(leave.getStartDate()) && !day.isAfter(leave.getEndDate())) {
+                    onLeave = true;
+                    break;
+                }
+            }
+            if (onLeave) {
+                continue;
+            }
+            Attendance found = null;
+            for (Attendance attendance : attendances) {
+                if (attendance.getDate().toLocalDate().equals(day)) {
+                    found = attendance;
+                    break;
+                }
+            }
+            if (found == null || found.getStatus() == AttendanceStatus.ABSENT) {
+                halfDays += 2;
+            } else if (found.getStatus() == AttendanceStatus.HALF_DAY) {
+                halfDays += 1;
+            }
+        }
+        return halfDays;
+    }
+}
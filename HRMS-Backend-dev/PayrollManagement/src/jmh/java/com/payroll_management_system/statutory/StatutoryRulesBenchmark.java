@@ -0,0 +1,60 @@
+package com.payroll_management_system.statutory;
+
+import com.payroll_management_system.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Annual tax on a taxable income: the compiled slab lookup against walking
+ * every slab, plus the year-to-date monthly withholding built on it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatutoryRulesBenchmark {
+
+    private static final long[] SLAB_FROM = {0L, 30_000_000L, 70_000_000L, 100_000_000L, 120_000_000L, 150_000_000L};
+    private static final long[] SLAB_RATE = {0L, 500L, 1_000L, 1_500L, 2_000L, 3_000L};
+
+    private final CompiledStatutoryRules rules = new CompiledStatutoryRules("benchmark", 2024, "NEW",
+        SLAB_FROM, SLAB_RATE, 7_500_000L, 70_000_000L, 2_500_000L, 400L,
+        1_200L, 1_500_000L, 75L, 2_100_000L);
+
+    private long taxableIncome = 134_567_800L;
+    private long monthlyGross = 11_234_500L;
+
+    @Benchmark
+    public long compiledLookup() {
+        return rules.annualTax(taxableIncome);
+    }
+
+    @Benchmark
+    public long slabWalk() {
+        long tax = 0L;
+        for (int i = 0; i < SLAB_FROM.length && taxableIncome > SLAB_FROM[i]; i++) {
+            long upper = i + 1 < SLAB_FROM.length ? Math.min(taxableIncome, SLAB_FROM[i + 1]) : taxableIncome;
+            tax += Money.applyBasisPoints(upper - SLAB_FROM[i], SLAB_RATE[i]);
+        }
+        if (taxableIncome <= 70_000_000L) {
+            tax = Math.max(0L, tax - 2_500_000L);
+        }
+        return tax + Money.applyBasisPoints(tax, 400L);
+    }
+
+    @Benchmark
+    public long monthlyTaxFromYearToDate() {
+        return rules.monthlyTax(monthlyGross, 3 * monthlyGross, 3_000_000L, 9);
+    }
+}
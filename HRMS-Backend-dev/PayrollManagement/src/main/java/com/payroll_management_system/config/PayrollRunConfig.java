@@ -0,0 +1,41 @@
+package com.payroll_management_system.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PayrollRunConfig {
+
+    /**
+     * Processes the run shards claimed by this node, each reading its employees
+     * chunk by chunk. Shards are only claimed while a thread is free.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor payrollRunExecutor(PayrollRunProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrentShards());
+        executor.setMaxPoolSize(properties.getMaxConcurrentShards());
+        executor.setThreadNamePrefix("payroll-run-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool that computes the payrolls of a single chunk in parallel.
+     * The queue holds at most one chunk; overflow runs on the submitting thread.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor payrollWorkerExecutor(PayrollRunProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getChunkSize());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("payroll-worker-");
+        executor.initialize();
+        return executor;
+    }
+}
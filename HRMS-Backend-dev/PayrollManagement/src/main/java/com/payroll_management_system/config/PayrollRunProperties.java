@@ -0,0 +1,18 @@
+package com.payroll_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "payroll.run")
+public class PayrollRunProperties {
+    private int chunkSize = 500;   // Employees read and written per transaction
+    private int workerThreads = 8; // Threads computing payrolls within a chunk
+    private int shardSize = 5000;  // Employees per shard claimed by one node
+    private int maxConcurrentShards = 2; // Shards processed at once on this node
+    private int maxShardAttempts = 3;    // Claims before a repeatedly failing shard is marked failed
+    private long leaseSeconds = 60;      // Lease length, renewed by every heartbeat and chunk write
+    private String nodeId;               // Lease owner name, generated when not configured
+}
@@ -0,0 +1,24 @@
+package com.payroll_management_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PayslipConfig {
+
+    /**
+     * Small pool rendering payslip PDFs while the archive is written. The archive
+     * writer never has more than a fixed window of payslips in flight.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor payslipRenderExecutor(@Value("${payroll.payslip.worker-threads:4}") int workerThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setThreadNamePrefix("payslip-render-");
+        executor.initialize();
+        return executor;
+    }
+}
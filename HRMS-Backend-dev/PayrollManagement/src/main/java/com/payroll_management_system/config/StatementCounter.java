@@ -0,0 +1,22 @@
+package com.payroll_management_system.config;
+
+/**
+ * SQL statements prepared on the current thread, counted on every connection
+ * handed out by the application DataSource. Callers take the difference around
+ * a piece of work to learn how many statements it issued.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatementCounter() {
+    }
+
+    public static long count() {
+        return COUNT.get()[0];
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+}
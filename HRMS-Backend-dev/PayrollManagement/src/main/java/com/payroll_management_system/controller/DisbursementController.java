@@ -0,0 +1,70 @@
+package com.payroll_management_system.controller;
+
+import com.payroll_management_system.dto.DisbursementSummary;
+import com.payroll_management_system.model.DisbursementFormat;
+import com.payroll_management_system.service.DisbursementFileExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/payroll/disbursements")
+@RequiredArgsConstructor
+@Slf4j
+public class DisbursementController {
+
+    private final DisbursementFileExporter disbursementFileExporter;
+
+    /**
+     * Download the bank disbursement file of a pay period
+     * 
+     * @param payPeriodStart Start of the pay period
+     * @param format CSV or FIXED_WIDTH records
+     * @return File streamed straight to the response
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> downloadDisbursementFile(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriodStart,
+        @RequestParam(defaultValue = "CSV") DisbursementFormat format
+    ) {
+        if (!disbursementFileExporter.hasPayrolls(payPeriodStart)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> disbursementFileExporter.export(payPeriodStart, format, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=" + DisbursementFileExporter.fileName(payPeriodStart, format))
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(body);
+    }
+
+    /**
+     * Write the bank disbursement file of a pay period to the export directory
+     * 
+     * @param payPeriodStart Start of the pay period
+     * @param format CSV or FIXED_WIDTH records
+     * @return Control totals and location of the written file
+     */
+    @PostMapping("/file")
+    public ResponseEntity<DisbursementSummary> writeDisbursementFile(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriodStart,
+        @RequestParam(defaultValue = "CSV") DisbursementFormat format
+    ) {
+        try {
+            if (!disbursementFileExporter.hasPayrolls(payPeriodStart)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(disbursementFileExporter.exportToFile(payPeriodStart, format));
+        } catch (Exception e) {
+            log.error("Failed to write disbursement file: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -22,16 +22,33 @@
 
 package com.payroll_management_system.controller;
 
+import com.payroll_management_system.dto.PayrollPage;
+import com.payroll_management_system.dto.SimulationRequest;
+import com.payroll_management_system.dto.SimulationResult;
 import com.payroll_management_system.model.Payroll;
+import com.payroll_management_system.model.PayrollDepartmentSummary;
+import com.payroll_management_system.model.PayrollYtd;
+import com.payroll_management_system.service.PayrollDepartmentSummaryService;
 import com.payroll_management_system.service.PayrollService;
+import com.payroll_management_system.service.PayrollSimulationService;
+import com.payroll_management_system.service.PayrollYtdService;
+import com.payroll_management_system.service.PayslipArchiveService;
+import com.payroll_management_system.service.WorkingDayCalendar;
+import com.payroll_management_system.statutory.FinancialYear;
+import com.payroll_management_system.statutory.StatutoryRuleEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/payroll")
@@ -40,6 +57,12 @@ import java.util.List;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final StatutoryRuleEngine statutoryRuleEngine;
+    private final PayrollYtdService payrollYtdService;
+    private final PayrollDepartmentSummaryService departmentSummaryService;
+    private final PayslipArchiveService payslipArchiveService;
+    private final PayrollSimulationService payrollSimulationService;
 
     /**
      * Generate payroll for an employee for the current month
@@ -70,14 +93,18 @@ public class PayrollController {
      * Retrieve payroll for a specific employee
      * 
      * @param employeeId The ID of the employee
-     * @return List of Payroll records
+     * @param cursor Cursor from the previous page, omitted for the first page
+     * @param size Page size
+     * @return Page of Payroll records
      */
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<Payroll>> getEmployeePayrolls(
-        @PathVariable Long employeeId
+    public ResponseEntity<PayrollPage> getEmployeePayrolls(
+        @PathVariable Long employeeId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
     ) {
         try {
-            List<Payroll> payrolls = payrollService.getEmployeePayrolls(employeeId);
+            PayrollPage payrolls = payrollService.getEmployeePayrolls(employeeId, cursor, size);
             return ResponseEntity.ok(payrolls);
         } catch (Exception e) {
             log.error("Failed to retrieve payrolls: {}", e.getMessage());
@@ -90,15 +117,19 @@ public class PayrollController {
      * 
      * @param startDate Start of the pay period
      * @param endDate End of the pay period
-     * @return List of Payroll records
+     * @param cursor Cursor from the previous page, omitted for the first page
+     * @param size Page size
+     * @return Page of Payroll records
      */
     @GetMapping("/period")
-    public ResponseEntity<List<Payroll>> getPayrollsByPeriod(
+    public ResponseEntity<PayrollPage> getPayrollsByPeriod(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
     ) {
         try {
-            List<Payroll> payrolls = payrollService.getPayrollsByPeriod(startDate, endDate);
+            PayrollPage payrolls = payrollService.getPayrollsByPeriod(startDate, endDate, cursor, size);
             return ResponseEntity.ok(payrolls);
         } catch (Exception e) {
             log.error("Failed to retrieve payrolls by period: {}", e.getMessage());
@@ -110,15 +141,19 @@ public class PayrollController {
      * Retrieve payrolls by department
      * 
      * @param department Department name
-     * @return List of Payroll records
+     * @param cursor Cursor from the previous page, omitted for the first page
+     * @param size Page size
+     * @return Page of Payroll records
      */
     @GetMapping("/department/{department}")
  
-    public ResponseEntity<List<Payroll>> getPayrollsByDepartment(
-        @PathVariable String department
+    public ResponseEntity<PayrollPage> getPayrollsByDepartment(
+        @PathVariable String department,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
     ) {
         try {
-            List<Payroll> payrolls = payrollService.getPayrollsByDepartment(department);
+            PayrollPage payrolls = payrollService.getPayrollsByDepartment(department, cursor, size);
             return ResponseEntity.ok(payrolls);
         } catch (Exception e) {
             log.error("Failed to retrieve payrolls by department: {}", e.getMessage());
@@ -130,18 +165,153 @@ public class PayrollController {
      * Retrieve payrolls by status
      * 
      * @param status Payroll status
-     * @return List of Payroll records
+     * @param cursor Cursor from the previous page, omitted for the first page
+     * @param size Page size
+     * @return Page of Payroll records
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Payroll>> getPayrollsByStatus(
-        @PathVariable String status
+    public ResponseEntity<PayrollPage> getPayrollsByStatus(
+        @PathVariable String status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
     ) {
         try {
-            List<Payroll> payrolls = payrollService.getPayrollsByStatus(status);
+            PayrollPage payrolls = payrollService.getPayrollsByStatus(status, cursor, size);
             return ResponseEntity.ok(payrolls);
         } catch (Exception e) {
             log.error("Failed to retrieve payrolls by status: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Download the payslips of a pay period as a ZIP archive of PDFs
+     * 
+     * @param payPeriodStart Start of the pay period
+     * @return Archive streamed straight to the response
+     */
+    @GetMapping(value = "/payslips", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> downloadPayslips(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriodStart
+    ) {
+        if (!payslipArchiveService.hasPayslips(payPeriodStart)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> payslipArchiveService.writeArchive(payPeriodStart, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=payslips-" + payPeriodStart + ".zip")
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .body(body);
+    }
+
+    /**
+     * Retrieve payroll cost per department for a pay period
+     * 
+     * @param payPeriodStart Start of the pay period
+     * @return Gross, deductions, net and headcount of every department
+     */
+    @GetMapping("/department-summary")
+    public ResponseEntity<List<PayrollDepartmentSummary>> getDepartmentSummary(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriodStart
+    ) {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS))
+            .body(departmentSummaryService.getSummaries(payPeriodStart));
+    }
+
+    /**
+     * Rebuild the department summary of a pay period from its payrolls
+     * 
+     * @param payPeriodStart Start of the pay period
+     * @return Number of departments in the period
+     */
+    @PostMapping("/department-summary/rebuild")
+    public ResponseEntity<Integer> rebuildDepartmentSummary(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriodStart
+    ) {
+        try {
+            return ResponseEntity.ok(departmentSummaryService.rebuild(payPeriodStart));
+        } catch (Exception e) {
+            log.error("Failed to rebuild department summary: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieve year-to-date payroll totals of an employee
+     * 
+     * @param employeeId The ID of the employee
+     * @param financialYear Year in which the financial year starts, defaults to the current one
+     * @return YTD totals, or 404 when the employee has no payroll in the year
+     */
+    @GetMapping("/ytd/{employeeId}")
+    public ResponseEntity<PayrollYtd> getPayrollYtd(
+        @PathVariable Long employeeId,
+        @RequestParam(required = false) Integer financialYear
+    ) {
+        int year = financialYear != null ? financialYear : FinancialYear.of(LocalDate.now());
+        return payrollYtdService.getYtd(employeeId, year)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Rebuild year-to-date totals from payroll history
+     * 
+     * @param financialYear Year to rebuild, omitted to rebuild every year
+     * @return Number of rows rebuilt for one year, or of years rebuilt
+     */
+    @PostMapping("/ytd/rebuild")
+    public ResponseEntity<Integer> rebuildPayrollYtd(@RequestParam(required = false) Integer financialYear) {
+        try {
+            int rebuilt = financialYear != null
+                ? payrollYtdService.rebuild(financialYear)
+                : payrollYtdService.rebuildAll();
+            return ResponseEntity.ok(rebuilt);
+        } catch (Exception e) {
+            log.error("Failed to rebuild payroll YTD: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Model raises and PF rule changes against the current payroll without saving anything
+     * 
+     * @param request Raises per band and replacement PF rules
+     * @return Current and simulated totals
+     */
+    @PostMapping("/simulations")
+    public ResponseEntity<SimulationResult> simulatePayroll(@RequestBody SimulationRequest request) {
+        try {
+            return ResponseEntity.ok(payrollSimulationService.simulate(request));
+        } catch (Exception e) {
+            log.error("Failed to simulate payroll: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Reload holidays and weekly-offs used for working-day proration
+     */
+    @PostMapping("/calendar/reload")
+    public ResponseEntity<Void> reloadCalendar() {
+        workingDayCalendar.reload();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Reload tax slabs, PF and ESI rules from the statutory rule document
+     * 
+     * @return Version of the rules now in effect
+     */
+    @PostMapping("/statutory-rules/reload")
+    public ResponseEntity<String> reloadStatutoryRules() {
+        try {
+            statutoryRuleEngine.reload();
+            return ResponseEntity.ok(statutoryRuleEngine.getVersion());
+        } catch (Exception e) {
+            log.error("Failed to reload statutory rules: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.payroll_management_system.controller;
+
+import com.payroll_management_system.model.PayrollRun;
+import com.payroll_management_system.model.PayrollRunShard;
+import com.payroll_management_system.service.PayrollRunService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll/runs")
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRunController {
+
+    private final PayrollRunService payrollRunService;
+
+    /**
+     * Start a payroll run for all active employees or a single department
+     * 
+     * @param processedDate Processing date of the run, defaults to today
+     * @param department Optional department to restrict the run to
+     * @return The queued or already running PayrollRun
+     */
+    @PostMapping
+    public ResponseEntity<PayrollRun> startRun(
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate processedDate,
+        @RequestParam(required = false) String department
+    ) {
+        try {
+            PayrollRun run = payrollRunService.startRun(
+                processedDate != null ? processedDate : LocalDate.now(),
+                department
+            );
+            return ResponseEntity.ok(run);
+        } catch (Exception e) {
+            log.error("Failed to start payroll run: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieve status and progress of a payroll run
+     * 
+     * @param runId The ID of the run
+     * @return PayrollRun with its progress counters
+     */
+    @GetMapping("/{runId}")
+    public ResponseEntity<PayrollRun> getRun(@PathVariable Long runId) {
+        try {
+            return ResponseEntity.ok(payrollRunService.getRun(runId));
+        } catch (Exception e) {
+            log.error("Failed to retrieve payroll run: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retrieve the shards of a payroll run with their owners and checkpoints
+     * 
+     * @param runId The ID of the run
+     * @return Shards in employee-id order
+     */
+    @GetMapping("/{runId}/shards")
+    public ResponseEntity<List<PayrollRunShard>> getShards(@PathVariable Long runId) {
+        return ResponseEntity.ok(payrollRunService.getShards(runId));
+    }
+
+    /**
+     * Retrieve runs that are queued or in progress
+     * 
+     * @return List of active PayrollRun records
+     */
+    @GetMapping("/active")
+    public ResponseEntity<List<PayrollRun>> getActiveRuns() {
+        return ResponseEntity.ok(payrollRunService.getActiveRuns());
+    }
+}
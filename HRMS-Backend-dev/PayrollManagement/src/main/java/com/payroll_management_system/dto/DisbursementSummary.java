@@ -0,0 +1,20 @@
+package com.payroll_management_system.dto;
+
+import com.payroll_management_system.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Control totals of a disbursement file, as written in its trailer record.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisbursementSummary {
+    private long recordCount;
+    private Money totalAmount;
+    private String checksum;        // CRC32 of the detail records, hex
+    private long skippedRecords;    // Payrolls left out for missing bank details
+    private String fileName;
+}
@@ -0,0 +1,13 @@
+package com.payroll_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PayrollPage {
+    private List<PayrollView> items;
+    private String nextCursor; // Null on the last page
+}
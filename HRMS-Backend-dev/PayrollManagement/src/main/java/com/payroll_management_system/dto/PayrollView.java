@@ -0,0 +1,30 @@
+package com.payroll_management_system.dto;
+
+import com.payroll_management_system.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a payroll row that does not load the employee.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollView {
+    private Long id;
+    private Long employeeId;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private Money grossSalary;
+    private Money taxDeduction;
+    private Money providentFund;
+    private Money employeeStateInsurance;
+    private Money totalDeductions;
+    private Money netSalary;
+    private LocalDate processedDate;
+    private String status;
+    private String department;
+}
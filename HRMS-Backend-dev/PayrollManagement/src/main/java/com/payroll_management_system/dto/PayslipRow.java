@@ -0,0 +1,33 @@
+package com.payroll_management_system.dto;
+
+import com.payroll_management_system.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Flat projection of a payroll and the employee fields printed on its payslip.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayslipRow {
+    private Long payrollId;
+    private Long employeeCode;
+    private String fullName;
+    private String department;
+    private String designation;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private Money grossSalary;
+    private Money taxDeduction;
+    private Money providentFund;
+    private Money employeeStateInsurance;
+    private Money totalDeductions;
+    private Money netSalary;
+    private Money ytdGrossSalary;
+    private Money ytdTaxDeduction;
+    private Money ytdNetSalary;
+}
@@ -0,0 +1,32 @@
+package com.payroll_management_system.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * What-if scenario for {@code POST /api/payroll/simulations}. Every field is
+ * optional; an empty request reproduces the current payroll.
+ */
+@Data
+public class SimulationRequest {
+    // Employee attribute that defines a band: DESIGNATION or DEPARTMENT
+    private String bandBy = "DESIGNATION";
+
+    // Raise in percent per band, e.g. {"Senior Engineer": 8}
+    private Map<String, BigDecimal> raisePercentByBand;
+
+    // Raise for bands not listed above
+    private BigDecimal defaultRaisePercent;
+
+    // Replacement PF rules; omitted values keep the statutory ones
+    private Long pfRateBasisPoints;
+    private BigDecimal pfWageCeiling;
+
+    // Pay period whose attendance deductions are carried over, defaults to the latest one
+    private LocalDate basePeriodStart;
+
+    private boolean refreshSnapshot;
+}
@@ -0,0 +1,22 @@
+package com.payroll_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResult {
+    private LocalDate basePeriodStart;
+    private LocalDateTime snapshotLoadedAt;
+    private String rulesVersion;
+    private SimulationTotals current;
+    private SimulationTotals simulated;
+    private List<SimulationTotals> simulatedByBand;
+    private long elapsedMillis;
+}
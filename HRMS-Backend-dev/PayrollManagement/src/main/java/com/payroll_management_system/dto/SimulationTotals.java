@@ -0,0 +1,19 @@
+package com.payroll_management_system.dto;
+
+import com.payroll_management_system.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationTotals {
+    private String band; // Null for organisation totals
+    private int employees;
+    private Money grossSalary;
+    private Money taxDeduction;
+    private Money providentFund;
+    private Money employeeStateInsurance;
+    private Money netSalary;
+}
@@ -0,0 +1,47 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Compact rollup of one employee's day: attendance status, minutes worked and
+ * whether an approved leave covers the day. Rows exist only for days with an
+ * attendance row or an approved leave.
+ */
+@Data
+@Entity
+@Table(name = "daily_attendance_summary",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_attendance_summary", columnNames = {"employee_id", "work_date"})
+    },
+    indexes = {
+        @Index(name = "idx_daily_attendance_summary_date", columnList = "work_date")
+    })
+public class DailyAttendanceSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    // Null when the employee has no attendance row for the day
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private AttendanceStatus status;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private int workedMinutes;
+
+    @Column(name = "on_leave", nullable = false)
+    private boolean onLeave;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+}
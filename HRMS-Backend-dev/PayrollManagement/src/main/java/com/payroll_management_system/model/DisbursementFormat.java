@@ -0,0 +1,6 @@
+package com.payroll_management_system.model;
+
+public enum DisbursementFormat {
+    CSV,
+    FIXED_WIDTH
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -78,6 +79,22 @@ public class Employee {
 
 	@Column(precision = 10, scale = 2)
 	private BigDecimal basicSalary;
+
+	// Owned by user management; read only by the disbursement exporter's SQL and
+	// never serialized or logged with a payroll
+	@JsonIgnore
+	@ToString.Exclude
+	@Column(name = "bank_account_number", length = 34, insertable = false, updatable = false)
+	private String bankAccountNumber;
+
+	@JsonIgnore
+	@ToString.Exclude
+	@Column(name = "bank_ifsc", length = 11, insertable = false, updatable = false)
+	private String bankIfsc;
+
+	// Holiday calendar of the employee's office; the default calendar applies when empty
+	@Column(name = "work_location", length = 50)
+	private String workLocation;
 	
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "hr_id")
@@ -0,0 +1,26 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "holidays",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"location", "holiday_date"})
+    })
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    private String name;
+}
@@ -6,7 +6,16 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "payrolls")
+@Table(name = "payrolls",
+    uniqueConstraints = {
+        // Also serves the employee history query on (employee_id, pay_period_start)
+        @UniqueConstraint(name = "uk_payroll_employee_period", columnNames = {"employee_id", "pay_period_start"})
+    },
+    indexes = {
+        @Index(name = "idx_payroll_period", columnList = "pay_period_start"),
+        @Index(name = "idx_payroll_department_period", columnList = "department, pay_period_start"),
+        @Index(name = "idx_payroll_status_processed", columnList = "status, processed_date")
+    })
 public class Payroll {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,22 +33,32 @@ public class Payroll {
     private LocalDate payPeriodEnd;
     
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double grossSalary;
+    private Money grossSalary;
     
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double taxDeduction;
+    private Money taxDeduction;
     
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double providentFund;
+    private Money providentFund;
     
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double netSalary;
+    private Money netSalary;
 
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double employeeStateInsurance; // ESI deduction (1.75% of salary)
+    private Money employeeStateInsurance; // Employee ESI contribution
 
     @Column(columnDefinition = "DECIMAL(10,2)")
-    private Double totalDeductions;// Sum of all deductions
+    private Money totalDeductions;// Sum of all deductions
+
+    // Financial year totals up to and including this payroll, as printed on its payslip
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money ytdGrossSalary;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money ytdTaxDeduction;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money ytdNetSalary;
         
         // Update existing methods or add new ones as needed
     private LocalDate processedDate;
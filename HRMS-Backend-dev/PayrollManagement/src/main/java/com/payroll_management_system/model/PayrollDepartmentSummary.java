@@ -0,0 +1,43 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Payroll cost of a department for one pay period. Maintained incrementally on
+ * every payroll write so dashboards never aggregate the payrolls table.
+ */
+@Data
+@Entity
+@Table(name = "payroll_department_summary",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_department_summary_period", columnNames = {"pay_period_start", "department"})
+    })
+public class PayrollDepartmentSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Payrolls without a department are summarised under UNASSIGNED
+    @Column(nullable = false)
+    private String department;
+
+    @Column(name = "pay_period_start", nullable = false)
+    private LocalDate payPeriodStart;
+
+    @Column(columnDefinition = "DECIMAL(14,2)")
+    private Money grossSalary;
+
+    @Column(columnDefinition = "DECIMAL(14,2)")
+    private Money totalDeductions;
+
+    @Column(columnDefinition = "DECIMAL(14,2)")
+    private Money netSalary;
+
+    private Integer headcount;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.payroll_management_system.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "payroll_runs",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payroll_run_active_scope", columnNames = "active_scope")
+    })
+public class PayrollRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate payPeriodStart;
+
+    @Column(nullable = false)
+    private LocalDate payPeriodEnd;
+
+    private LocalDate processedDate;
+
+    // Null means the run covers every department
+    private String department;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollRunStatus status = PayrollRunStatus.QUEUED;
+
+    // Pay period and department while the run is queued or running, null once it
+    // has finished; the unique key allows a single active run per scope
+    @JsonIgnore
+    @Column(name = "active_scope", length = 150)
+    private String activeScope;
+
+    private int totalEmployees;
+    private int processedEmployees;
+    private int skippedEmployees; // Already had a payroll for the period
+    private int failedEmployees;
+
+    // Employee-id range shards the run was split into, see PayrollRunShard
+    private int totalShards;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public int getProgressPercent() {
+        if (totalEmployees == 0) {
+            return status == PayrollRunStatus.COMPLETED ? 100 : 0;
+        }
+        int done = processedEmployees + skippedEmployees + failedEmployees;
+        return (int) Math.min(100, done * 100L / totalEmployees);
+    }
+}
@@ -0,0 +1,56 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Employee-id range of a payroll run. Nodes claim shards by taking a lease on
+ * them and renew it by heartbeat; a shard whose lease expired is claimed again
+ * by any node and resumes after its last committed employee.
+ */
+@Data
+@Entity
+@Table(name = "payroll_run_shards",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_run_shard_index", columnNames = {"run_id", "shard_index"})
+    },
+    indexes = {
+        @Index(name = "idx_run_shard_claim", columnList = "status, lease_expires_at")
+    })
+public class PayrollRunShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    // Inclusive employee primary key bounds
+    @Column(nullable = false)
+    private Long fromEmployeeId;
+
+    @Column(nullable = false)
+    private Long toEmployeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollRunStatus status = PayrollRunStatus.QUEUED;
+
+    // Node holding the lease, null while the shard is unclaimed
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    private LocalDateTime heartbeatAt;
+
+    // Highest employee id whose chunk has been written; a reclaimed shard continues after it
+    private Long lastEmployeeId;
+
+    private int attempts;
+}
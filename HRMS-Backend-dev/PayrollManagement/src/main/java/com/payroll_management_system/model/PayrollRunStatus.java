@@ -0,0 +1,10 @@
+package com.payroll_management_system.model;
+
+public enum PayrollRunStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    // Every shard finished but some employees could not be calculated; a new run retries them
+    COMPLETED_WITH_ERRORS,
+    FAILED
+}
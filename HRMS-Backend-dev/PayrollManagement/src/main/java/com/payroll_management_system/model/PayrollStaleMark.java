@@ -0,0 +1,38 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks the payroll of an employee for a pay period as out of date because
+ * attendance or leave inside the period changed after it was generated.
+ */
+@Data
+@Entity
+@Table(name = "payroll_stale_marks",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"employee_id", "pay_period_start"})
+    })
+public class PayrollStaleMark {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "pay_period_start", nullable = false)
+    private LocalDate payPeriodStart;
+
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt;
+
+    // Failed recompute attempts since the last change; a new change resets it
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -0,0 +1,57 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running year-to-date totals of an employee's payrolls for one financial year.
+ * Kept up to date whenever a payroll is written, so YTD lookups never re-sum
+ * payroll history.
+ */
+@Data
+@Entity
+@Table(name = "payroll_ytd",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payroll_ytd_employee_year", columnNames = {"employee_id", "financial_year"})
+    })
+public class PayrollYtd {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Calendar year in which the April-March financial year starts
+    @Column(name = "financial_year", nullable = false)
+    private Integer financialYear;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money grossSalary;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money taxDeduction;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money providentFund;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money employeeStateInsurance;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money totalDeductions;
+
+    @Column(columnDefinition = "DECIMAL(12,2)")
+    private Money netSalary;
+
+    private Integer payrollCount;
+
+    // Latest pay period in the totals; tells whether they are still "before" a given period
+    @Column(name = "latest_pay_period_start")
+    private LocalDate latestPayPeriodStart;
+
+    private LocalDateTime updatedAt;
+}
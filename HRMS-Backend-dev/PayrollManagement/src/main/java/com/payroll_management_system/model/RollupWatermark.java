@@ -0,0 +1,25 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last day a rollup table is complete up to, inclusive
+ */
+@Data
+@Entity
+@Table(name = "rollup_watermarks")
+public class RollupWatermark {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDate watermark;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
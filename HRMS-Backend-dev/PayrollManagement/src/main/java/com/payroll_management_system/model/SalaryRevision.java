@@ -0,0 +1,34 @@
+package com.payroll_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Basic salary of an employee from a date onwards, maintained by user management.
+ */
+@Data
+@Entity
+@Table(name = "salary_revisions",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_salary_revision_employee_date", columnNames = {"employee_id", "effective_from"})
+    })
+public class SalaryRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal basicSalary;
+
+    private LocalDateTime createdAt;
+}
@@ -5,10 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByEmployeeIdAndDateBetween(Long employeeId, LocalDateTime start, LocalDateTime end);
     List<Attendance> findByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+    List<Attendance> findByEmployeeIdInAndDateBetween(Collection<Long> employeeIds, LocalDateTime start, LocalDateTime end);
+}
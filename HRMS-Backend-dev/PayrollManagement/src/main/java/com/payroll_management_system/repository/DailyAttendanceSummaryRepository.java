@@ -0,0 +1,15 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.DailyAttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyAttendanceSummaryRepository extends JpaRepository<DailyAttendanceSummary, Long> {
+    List<DailyAttendanceSummary> findByEmployeeIdInAndWorkDateBetweenAndStatusIsNotNull(
+        Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate);
+}
@@ -1,13 +1,46 @@
 package com.payroll_management_system.repository;
 
 import com.payroll_management_system.model.Employee;
+import com.payroll_management_system.model.EmployeeStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmployeeId(Long employeeId);
     Optional<Employee> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Keyset page of payable employees up to a shard's upper bound, ordered by primary key
+    @Query("SELECT e FROM Employee e WHERE e.id > :afterId AND e.id <= :toId " +
+           "AND (e.status IS NULL OR e.status NOT IN :excludedStatuses) " +
+           "AND (:department IS NULL OR e.department = :department) " +
+           "ORDER BY e.id")
+    List<Employee> findPayrollChunk(@Param("afterId") Long afterId,
+                                    @Param("toId") Long toId,
+                                    @Param("department") String department,
+                                    @Param("excludedStatuses") Collection<EmployeeStatus> excludedStatuses,
+                                    Pageable pageable);
+
+    // Primary keys only, used to cut a run into shards of equal employee count
+    @Query("SELECT e.id FROM Employee e WHERE e.id > :afterId " +
+           "AND (e.status IS NULL OR e.status NOT IN :excludedStatuses) " +
+           "AND (:department IS NULL OR e.department = :department) " +
+           "ORDER BY e.id")
+    List<Long> findPayableIds(@Param("afterId") Long afterId,
+                              @Param("department") String department,
+                              @Param("excludedStatuses") Collection<EmployeeStatus> excludedStatuses,
+                              Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Employee e " +
+           "WHERE (e.status IS NULL OR e.status NOT IN :excludedStatuses) " +
+           "AND (:department IS NULL OR e.department = :department)")
+    long countPayable(@Param("department") String department,
+                      @Param("excludedStatuses") Collection<EmployeeStatus> excludedStatuses);
+}
@@ -0,0 +1,13 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+    List<Holiday> findByLocationAndHolidayDateBetween(String location, LocalDate startDate, LocalDate endDate);
+}
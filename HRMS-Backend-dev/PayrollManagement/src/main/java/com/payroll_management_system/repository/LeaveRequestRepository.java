@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +14,6 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     List<LeaveRequest> findByEmployeeIdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
             Long employeeId, LeaveStatus status, LocalDate endDate, LocalDate startDate);
     List<LeaveRequest> findByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+    List<LeaveRequest> findByEmployeeIdInAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            Collection<Long> employeeIds, LeaveStatus status, LocalDate endDate, LocalDate startDate);
+}
@@ -0,0 +1,13 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollDepartmentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PayrollDepartmentSummaryRepository extends JpaRepository<PayrollDepartmentSummary, Long> {
+    List<PayrollDepartmentSummary> findByPayPeriodStartOrderByDepartment(LocalDate payPeriodStart);
+}
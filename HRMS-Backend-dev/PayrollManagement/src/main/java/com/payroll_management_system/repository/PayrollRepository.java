@@ -1,12 +1,83 @@
 package com.payroll_management_system.repository;
 
+import com.payroll_management_system.dto.PayrollView;
+import com.payroll_management_system.dto.PayslipRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import com.payroll_management_system.model.Payroll;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+    String SELECT_VIEW = "SELECT new com.payroll_management_system.dto.PayrollView(" +
+        "p.id, p.employeeId, p.payPeriodStart, p.payPeriodEnd, p.grossSalary, p.taxDeduction, " +
+        "p.providentFund, p.employeeStateInsurance, p.totalDeductions, p.netSalary, " +
+        "p.processedDate, p.status, p.department) FROM Payroll p ";
+
     List<Payroll> findByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+    Optional<Payroll> findByEmployeeIdAndPayPeriodStart(Long employeeId, LocalDate payPeriodStart);
+
+    @Query("SELECT p.employeeId FROM Payroll p WHERE p.payPeriodStart = :payPeriodStart AND p.employeeId IN :employeeIds")
+    List<Long> findEmployeeIdsWithPayroll(@Param("payPeriodStart") LocalDate payPeriodStart,
+                                          @Param("employeeIds") Collection<Long> employeeIds);
+
+    boolean existsByPayPeriodStart(LocalDate payPeriodStart);
+
+    // Integer.MIN_VALUE makes the MySQL driver stream rows instead of buffering the result set
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.payroll_management_system.dto.PayslipRow(" +
+           "p.id, e.employeeId, e.fullName, p.department, e.designation, p.payPeriodStart, p.payPeriodEnd, " +
+           "p.grossSalary, p.taxDeduction, p.providentFund, p.employeeStateInsurance, p.totalDeductions, " +
+           "p.netSalary, p.ytdGrossSalary, p.ytdTaxDeduction, p.ytdNetSalary) FROM Payroll p JOIN p.employee e WHERE p.payPeriodStart = :payPeriodStart " +
+           "ORDER BY p.employeeId")
+    Stream<PayslipRow> streamPayslips(@Param("payPeriodStart") LocalDate payPeriodStart);
+
+    // Keyset pages: each query resumes strictly after the (sort key, id) of the previous page
+
+    @Query(SELECT_VIEW + "WHERE p.employeeId = :employeeId " +
+           "AND (p.payPeriodStart < :cursorDate OR (p.payPeriodStart = :cursorDate AND p.id < :cursorId)) " +
+           "ORDER BY p.payPeriodStart DESC, p.id DESC")
+    List<PayrollView> findEmployeePage(@Param("employeeId") Long employeeId,
+                                       @Param("cursorDate") LocalDate cursorDate,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE p.payPeriodStart BETWEEN :startDate AND :endDate " +
+           "AND (p.payPeriodStart > :cursorDate OR (p.payPeriodStart = :cursorDate AND p.id > :cursorId)) " +
+           "ORDER BY p.payPeriodStart ASC, p.id ASC")
+    List<PayrollView> findPeriodPage(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE p.department = :department " +
+           "AND (p.payPeriodStart < :cursorDate OR (p.payPeriodStart = :cursorDate AND p.id < :cursorId)) " +
+           "ORDER BY p.payPeriodStart DESC, p.id DESC")
+    List<PayrollView> findDepartmentPage(@Param("department") String department,
+                                         @Param("cursorDate") LocalDate cursorDate,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE p.status = :status " +
+           "AND (p.processedDate < :cursorDate OR (p.processedDate = :cursorDate AND p.id < :cursorId)) " +
+           "ORDER BY p.processedDate DESC, p.id DESC")
+    List<PayrollView> findStatusPage(@Param("status") String status,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollRun;
+import com.payroll_management_system.model.PayrollRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    List<PayrollRun> findByStatusIn(Collection<PayrollRunStatus> statuses);
+
+    @Query("SELECT r FROM PayrollRun r WHERE r.payPeriodStart = :payPeriodStart " +
+           "AND ((:department IS NULL AND r.department IS NULL) OR r.department = :department) " +
+           "AND r.status IN :statuses")
+    List<PayrollRun> findActiveRuns(@Param("payPeriodStart") LocalDate payPeriodStart,
+                                    @Param("department") String department,
+                                    @Param("statuses") Collection<PayrollRunStatus> statuses);
+
+    // Status transitions are single-column updates so they never overwrite the
+    // progress counters that PayrollBatchWriter increments concurrently.
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.status = :status, r.startedAt = COALESCE(r.startedAt, :now) WHERE r.id = :id")
+    int markStarted(@Param("id") Long id, @Param("status") PayrollRunStatus status, @Param("now") LocalDateTime now);
+
+    // Several nodes may finish the last shards at once; only the first transition applies
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.status = :status, r.completedAt = :now, r.errorMessage = :error, " +
+           "r.activeScope = NULL WHERE r.id = :id AND r.status IN :activeStatuses")
+    int markFinishedIfActive(@Param("id") Long id, @Param("status") PayrollRunStatus status,
+                             @Param("now") LocalDateTime now, @Param("error") String error,
+                             @Param("activeStatuses") Collection<PayrollRunStatus> activeStatuses);
+}
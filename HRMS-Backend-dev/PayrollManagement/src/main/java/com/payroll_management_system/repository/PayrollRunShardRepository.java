@@ -0,0 +1,70 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollRunShard;
+import com.payroll_management_system.model.PayrollRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollRunShardRepository extends JpaRepository<PayrollRunShard, Long> {
+
+    List<PayrollRunShard> findByRunIdOrderByShardIndex(Long runId);
+
+    long countByRunIdAndStatusIn(Long runId, Collection<PayrollRunStatus> statuses);
+
+    boolean existsByRunIdAndStatus(Long runId, PayrollRunStatus status);
+
+    // Lease times are read and written with the database clock only, so nodes whose
+    // clocks drift apart still agree on when a lease has expired
+
+    // Unclaimed shards and shards whose owner stopped heartbeating
+    @Query(value = "SELECT * FROM payroll_run_shards WHERE status = 'QUEUED' " +
+           "OR (status = 'RUNNING' AND lease_expires_at < NOW()) ORDER BY run_id, shard_index LIMIT :limit",
+           nativeQuery = true)
+    List<PayrollRunShard> findClaimable(@Param("limit") int limit);
+
+    // Lease transitions are conditional updates; a zero row count means another node won
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE payroll_run_shards SET status = 'RUNNING', owner = :owner, " +
+           "lease_expires_at = NOW() + INTERVAL :leaseSeconds SECOND, heartbeat_at = NOW(), attempts = attempts + 1 " +
+           "WHERE id = :id AND (status = 'QUEUED' OR (status = 'RUNNING' AND lease_expires_at < NOW()))",
+           nativeQuery = true)
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE payroll_run_shards SET lease_expires_at = NOW() + INTERVAL :leaseSeconds SECOND, " +
+           "heartbeat_at = NOW() WHERE owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int heartbeat(@Param("owner") String owner,
+                  @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE payroll_run_shards SET status = :status, lease_expires_at = NULL, " +
+           "heartbeat_at = NOW() WHERE id = :id AND owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int finish(@Param("id") Long id,
+               @Param("owner") String owner,
+               @Param("status") String status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayrollRunShard s SET s.status = :queued, s.owner = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.id = :id AND s.owner = :owner AND s.status = :running")
+    int release(@Param("id") Long id,
+                @Param("owner") String owner,
+                @Param("running") PayrollRunStatus running,
+                @Param("queued") PayrollRunStatus queued);
+}
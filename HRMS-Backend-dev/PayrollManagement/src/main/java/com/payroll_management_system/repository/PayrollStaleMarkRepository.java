@@ -0,0 +1,34 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollStaleMark;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayrollStaleMarkRepository extends JpaRepository<PayrollStaleMark, Long> {
+    // Marks that are due and have not used up their attempts, oldest first
+    List<PayrollStaleMark> findByMarkedAtLessThanEqualAndAttemptsLessThanOrderByMarkedAtAsc(
+        LocalDateTime now, int maxAttempts, Pageable pageable);
+
+    // A mark refreshed while its payroll was being recomputed survives for the next pass
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PayrollStaleMark m WHERE m.id = :id AND m.markedAt <= :markedAt")
+    int deleteIfNotRemarked(@Param("id") Long id, @Param("markedAt") LocalDateTime markedAt);
+
+    // Push a failed mark back to retryAt unless a new change re-marked it meanwhile
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayrollStaleMark m SET m.attempts = m.attempts + 1, m.markedAt = :retryAt " +
+           "WHERE m.id = :id AND m.markedAt = :markedAt")
+    int deferIfNotRemarked(@Param("id") Long id, @Param("markedAt") LocalDateTime markedAt,
+                           @Param("retryAt") LocalDateTime retryAt);
+}
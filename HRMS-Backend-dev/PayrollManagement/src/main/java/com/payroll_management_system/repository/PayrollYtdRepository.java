@@ -0,0 +1,15 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollYtd;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollYtdRepository extends JpaRepository<PayrollYtd, Long> {
+    Optional<PayrollYtd> findByEmployeeIdAndFinancialYear(Long employeeId, Integer financialYear);
+    List<PayrollYtd> findByEmployeeIdInAndFinancialYear(Collection<Long> employeeIds, Integer financialYear);
+}
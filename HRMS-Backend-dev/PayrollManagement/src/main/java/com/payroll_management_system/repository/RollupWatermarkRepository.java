@@ -0,0 +1,9 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+}
@@ -0,0 +1,19 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.SalaryRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalaryRevisionRepository extends JpaRepository<SalaryRevision, Long> {
+    // Revisions up to the end of a period, in timeline order
+    List<SalaryRevision> findByEmployeeIdAndEffectiveFromLessThanEqualOrderByEffectiveFromAsc(
+        Long employeeId, LocalDate effectiveFrom);
+
+    List<SalaryRevision> findByEmployeeIdInAndEffectiveFromLessThanEqualOrderByEmployeeIdAscEffectiveFromAsc(
+        Collection<Long> employeeIds, LocalDate effectiveFrom);
+}
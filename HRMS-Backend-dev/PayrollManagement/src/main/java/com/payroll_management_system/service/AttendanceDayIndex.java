@@ -0,0 +1,101 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Attendance;
+import com.payroll_management_system.model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Per-employee, per-period view of attendance keyed by day offset from the
+ * period start. Built once from the rows already fetched for the period so the
+ * absence math is a single pass over primitive arrays instead of scanning the
+ * attendance and leave lists for every day.
+ */
+final class AttendanceDayIndex {
+
+    private static final byte NO_RECORD = 0;
+    private static final byte PRESENT = 1;
+    private static final byte HALF_DAY = 2;
+    private static final byte ABSENT = 3;
+
+    private final int days;
+    private final byte[] status;
+    private final BitSet onLeave;
+    private final BitSet workingDays;
+
+    private AttendanceDayIndex(LocalDate start, LocalDate end, BitSet workingDays) {
+        this.days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+        this.status = new byte[days];
+        this.onLeave = new BitSet(days);
+        this.workingDays = workingDays;
+    }
+
+    /**
+     * @param workingDays Working days of the period keyed by day offset, see
+     *        {@link WorkingDayCalendar#workingDayMask}
+     */
+    static AttendanceDayIndex build(
+        List<Attendance> attendances,
+        List<LeaveRequest> leaves,
+        BitSet workingDays,
+        LocalDate start,
+        LocalDate end
+    ) {
+        AttendanceDayIndex index = new AttendanceDayIndex(start, end, workingDays);
+        long startDay = start.toEpochDay();
+
+        for (Attendance attendance : attendances) {
+            int offset = (int) (attendance.getDate().toLocalDate().toEpochDay() - startDay);
+            // Like the previous per-day lookup, the first row of a day wins
+            if (offset >= 0 && offset < index.days && index.status[offset] == NO_RECORD) {
+                index.status[offset] = encode(attendance);
+            }
+        }
+
+        for (LeaveRequest leave : leaves) {
+            int from = (int) Math.max(0, leave.getStartDate().toEpochDay() - startDay);
+            int to = (int) Math.min(index.days - 1, leave.getEndDate().toEpochDay() - startDay);
+            if (from <= to) {
+                index.onLeave.set(from, to + 1);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Unpaid absence in half days: a working day without leave counts 2 when the
+     * employee was absent or has no attendance row and 1 for a half day.
+     */
+    int unpaidAbsenceHalfDays() {
+        int halfDays = 0;
+        for (int offset = workingDays.nextSetBit(0); offset >= 0 && offset < days;
+                offset = workingDays.nextSetBit(offset + 1)) {
+            if (onLeave.get(offset)) {
+                continue;
+            }
+            byte day = status[offset];
+            if (day == NO_RECORD || day == ABSENT) {
+                halfDays += 2;
+            } else if (day == HALF_DAY) {
+                halfDays += 1;
+            }
+        }
+        return halfDays;
+    }
+
+    private static byte encode(Attendance attendance) {
+        if (attendance.getStatus() == null) {
+            return PRESENT;
+        }
+        switch (attendance.getStatus()) {
+            case ABSENT:
+                return ABSENT;
+            case HALF_DAY:
+                return HALF_DAY;
+            default:
+                return PRESENT;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Attendance;
+import com.payroll_management_system.model.DailyAttendanceSummary;
+import com.payroll_management_system.model.RollupWatermark;
+import com.payroll_management_system.repository.AttendanceRepository;
+import com.payroll_management_system.repository.DailyAttendanceSummaryRepository;
+import com.payroll_management_system.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Attendance for payroll read from the daily rollup maintained by the
+ * attendance service. Days up to the rollup watermark come from
+ * daily_attendance_summary as one row per day; later days, not rolled up yet,
+ * are read from the raw attendance rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceRollupReader {
+
+    // Must match the watermark name used by the attendance service
+    private static final String WATERMARK = "daily_attendance_summary";
+
+    private final DailyAttendanceSummaryRepository summaryRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    /**
+     * Attendance of the employees for every day from start to end, both inclusive
+     */
+    public List<Attendance> read(Collection<Long> employeeIds, LocalDate start, LocalDate end) {
+        LocalDate watermark = watermarkRepository.findById(WATERMARK)
+            .map(RollupWatermark::getWatermark)
+            .orElse(null);
+        List<Attendance> attendances = new ArrayList<>();
+
+        LocalDate rolledUpEnd = watermark != null && watermark.isBefore(end) ? watermark : end;
+        if (watermark != null && !rolledUpEnd.isBefore(start)) {
+            for (DailyAttendanceSummary summary : summaryRepository
+                    .findByEmployeeIdInAndWorkDateBetweenAndStatusIsNotNull(employeeIds, start, rolledUpEnd)) {
+                attendances.add(toAttendance(summary));
+            }
+        }
+
+        LocalDate liveStart = watermark != null && !watermark.isBefore(start) ? watermark.plusDays(1) : start;
+        if (!liveStart.isAfter(end)) {
+            attendances.addAll(attendanceRepository.findByEmployeeIdInAndDateBetween(
+                employeeIds, liveStart.atStartOfDay(), end.atTime(LocalTime.MAX)));
+        }
+        return attendances;
+    }
+
+    // Transient view of a summary row, enough for the absence calculation
+    private static Attendance toAttendance(DailyAttendanceSummary summary) {
+        Attendance attendance = new Attendance();
+        attendance.setEmployeeId(summary.getEmployeeId());
+        attendance.setDate(summary.getWorkDate().atStartOfDay());
+        attendance.setStatus(summary.getStatus());
+        attendance.setWorkingHours(summary.getWorkedMinutes() / 60.0);
+        return attendance;
+    }
+}
@@ -0,0 +1,263 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.dto.DisbursementSummary;
+import com.payroll_management_system.model.DisbursementFormat;
+import com.payroll_management_system.model.Money;
+import com.payroll_management_system.repository.PayrollRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.CRC32;
+
+/**
+ * Writes the salary disbursement file handed to the bank for a pay period. Rows
+ * are read through a forward-only streaming cursor and written as they arrive;
+ * record count, total amount and a CRC32 of the detail records are accumulated
+ * on the way and written in the trailer.
+ */
+@Service
+@Slf4j
+public class DisbursementFileExporter {
+
+    // Payrolls with nothing to pay, e.g. a fully absent month, get no credit record
+    private static final String DISBURSEMENT_SQL =
+        "SELECT p.id, e.employee_id, e.full_name, e.bank_account_number, e.bank_ifsc, p.net_salary " +
+        "FROM payrolls p JOIN employees e ON e.id = p.employee_id " +
+        "WHERE p.pay_period_start = ? AND p.net_salary > 0 ORDER BY p.employee_id";
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    // Fixed-width detail layout: type, IFSC, account, name, amount in paise, employee code
+    private static final int IFSC_WIDTH = 11;
+    private static final int ACCOUNT_WIDTH = 34;
+    private static final int NAME_WIDTH = 35;
+    private static final int AMOUNT_WIDTH = 15;
+    private static final int EMPLOYEE_CODE_WIDTH = 10;
+    private static final int COUNT_WIDTH = 9;
+    private static final int TOTAL_WIDTH = 18;
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final PayrollRepository payrollRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Path exportDirectory;
+
+    public DisbursementFileExporter(PayrollRepository payrollRepository,
+                                    DataSource dataSource,
+                                    @Value("${payroll.disbursement.directory:disbursements}") String exportDirectory) {
+        this.payrollRepository = payrollRepository;
+        // Integer.MIN_VALUE makes the MySQL driver stream rows one at a time
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.exportDirectory = Paths.get(exportDirectory);
+    }
+
+    public boolean hasPayrolls(LocalDate payPeriodStart) {
+        return payrollRepository.existsByPayPeriodStart(payPeriodStart);
+    }
+
+    public static String fileName(LocalDate payPeriodStart, DisbursementFormat format) {
+        return "disbursement-" + payPeriodStart.format(FILE_DATE)
+            + (format == DisbursementFormat.CSV ? ".csv" : ".txt");
+    }
+
+    /**
+     * Stream the disbursement file of a pay period to an output stream
+     *
+     * @param payPeriodStart Start of the pay period
+     * @param format CSV or fixed-width records
+     * @param out Destination, typically the HTTP response body
+     * @return Control totals written in the trailer
+     */
+    public DisbursementSummary export(LocalDate payPeriodStart, DisbursementFormat format, OutputStream out)
+            throws IOException {
+        RecordWriter writer = new RecordWriter(format, new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE));
+        writer.header(payPeriodStart);
+        try {
+            streamingJdbcTemplate.query(DISBURSEMENT_SQL, rs -> {
+                String account = rs.getString(4);
+                String ifsc = rs.getString(5);
+                long employeeCode = rs.getLong(2);
+                if (account == null || account.isBlank() || ifsc == null || ifsc.isBlank()) {
+                    log.warn("Payroll {} of employee {} left out of disbursement: no bank details",
+                        rs.getLong(1), employeeCode);
+                    writer.skipped++;
+                    return;
+                }
+                BigDecimal netSalary = rs.getBigDecimal(6);
+                writer.detail(employeeCode, rs.getString(3), account, ifsc,
+                    netSalary == null ? 0L : Money.toPaise(netSalary));
+            }, Date.valueOf(payPeriodStart));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.trailer();
+        writer.flush();
+        log.info("Disbursement file for {}: {} records, total {} paise, {} skipped",
+            payPeriodStart, writer.count, writer.totalPaise, writer.skipped);
+        return writer.summary(fileName(payPeriodStart, format));
+    }
+
+    /**
+     * Write the disbursement file of a pay period into the export directory.
+     * The file is written under a temporary name and moved in place when complete.
+     */
+    public DisbursementSummary exportToFile(LocalDate payPeriodStart, DisbursementFormat format) throws IOException {
+        Files.createDirectories(exportDirectory);
+        String fileName = fileName(payPeriodStart, format);
+        Path target = exportDirectory.resolve(fileName);
+        Path partial = exportDirectory.resolve(fileName + ".part");
+        DisbursementSummary summary;
+        try (FileChannel channel = FileChannel.open(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            summary = export(payPeriodStart, format, out);
+            channel.force(true);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        summary.setFileName(target.toString());
+        return summary;
+    }
+
+    /**
+     * Formats records into a reused buffer and keeps the running control totals.
+     */
+    private static final class RecordWriter {
+        private final DisbursementFormat format;
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder(160);
+        private final CRC32 crc = new CRC32();
+        private long count;
+        private long totalPaise;
+        private long skipped;
+
+        private RecordWriter(DisbursementFormat format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        void header(LocalDate payPeriodStart) throws IOException {
+            line.setLength(0);
+            String period = payPeriodStart.format(FILE_DATE);
+            String generated = LocalDateTime.now().format(FILE_TIMESTAMP);
+            if (format == DisbursementFormat.CSV) {
+                line.append("H,").append(period).append(',').append(generated);
+            } else {
+                line.append('H').append(period).append(generated);
+            }
+            write(false);
+        }
+
+        void detail(long employeeCode, String name, String account, String ifsc, long amountPaise) {
+            count++;
+            totalPaise = Math.addExact(totalPaise, amountPaise);
+            line.setLength(0);
+            if (format == DisbursementFormat.CSV) {
+                line.append("D,").append(count).append(',')
+                    .append(clean(ifsc, IFSC_WIDTH)).append(',')
+                    .append(clean(account, ACCOUNT_WIDTH)).append(',')
+                    .append(clean(name, NAME_WIDTH)).append(',')
+                    .append(BigDecimal.valueOf(amountPaise, 2).toPlainString()).append(',')
+                    .append(employeeCode);
+            } else {
+                line.append('D');
+                padRight(clean(ifsc, IFSC_WIDTH), IFSC_WIDTH);
+                padRight(clean(account, ACCOUNT_WIDTH), ACCOUNT_WIDTH);
+                padRight(clean(name, NAME_WIDTH), NAME_WIDTH);
+                padLeft(amountPaise, AMOUNT_WIDTH);
+                padLeft(employeeCode, EMPLOYEE_CODE_WIDTH);
+            }
+            try {
+                write(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void trailer() throws IOException {
+            line.setLength(0);
+            String checksum = checksum();
+            if (format == DisbursementFormat.CSV) {
+                line.append("T,").append(count).append(',')
+                    .append(BigDecimal.valueOf(totalPaise, 2).toPlainString()).append(',').append(checksum);
+            } else {
+                line.append('T');
+                padLeft(count, COUNT_WIDTH);
+                padLeft(totalPaise, TOTAL_WIDTH);
+                line.append(checksum);
+            }
+            write(false);
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        DisbursementSummary summary(String fileName) {
+            return new DisbursementSummary(count, Money.ofPaise(totalPaise), checksum(), skipped, fileName);
+        }
+
+        private String checksum() {
+            return String.format("%08X", crc.getValue());
+        }
+
+        private void write(boolean detail) throws IOException {
+            line.append("\r\n");
+            byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+            if (detail) {
+                crc.update(bytes);
+            }
+            out.write(bytes);
+        }
+
+        private void padRight(String value, int width) {
+            int length = Math.min(value.length(), width);
+            line.append(value, 0, length);
+            for (int i = length; i < width; i++) {
+                line.append(' ');
+            }
+        }
+
+        private void padLeft(long value, int width) {
+            String digits = Long.toString(value);
+            for (int i = digits.length(); i < width; i++) {
+                line.append('0');
+            }
+            line.append(digits);
+        }
+
+        // Bank files are plain ASCII; separators and other characters become spaces
+        private static String clean(String value, int maxLength) {
+            if (value == null) {
+                return "";
+            }
+            StringBuilder sb = new StringBuilder(Math.min(value.length(), maxLength));
+            for (int i = 0; i < value.length() && sb.length() < maxLength; i++) {
+                char c = value.charAt(i);
+                sb.append(c >= 0x20 && c < 0x7F && c != ',' ? c : ' ');
+            }
+            return sb.toString().trim();
+        }
+    }
+}
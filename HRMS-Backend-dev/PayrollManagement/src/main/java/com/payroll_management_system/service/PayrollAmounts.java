@@ -0,0 +1,54 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Payroll amounts as a flat array of paise, used by the read models that add the
+ * change of every payroll write to their totals.
+ */
+final class PayrollAmounts {
+
+    static final int GROSS = 0;
+    static final int TAX = 1;
+    static final int PF = 2;
+    static final int ESI = 3;
+    static final int TOTAL_DEDUCTIONS = 4;
+    static final int NET = 5;
+    static final int COUNT = 6;
+
+    private PayrollAmounts() {
+    }
+
+    /**
+     * Amounts of a payroll, captured before it is recalculated in place
+     */
+    static long[] of(Payroll payroll) {
+        long[] amounts = new long[COUNT];
+        amounts[GROSS] = payroll.getGrossSalary().getPaise();
+        amounts[TAX] = payroll.getTaxDeduction().getPaise();
+        amounts[PF] = payroll.getProvidentFund().getPaise();
+        amounts[ESI] = payroll.getEmployeeStateInsurance().getPaise();
+        amounts[TOTAL_DEDUCTIONS] = payroll.getTotalDeductions().getPaise();
+        amounts[NET] = payroll.getNetSalary().getPaise();
+        return amounts;
+    }
+
+    /**
+     * Change a payroll makes to running totals; previous is null for a new payroll
+     */
+    static long[] delta(Payroll payroll, long[] previous) {
+        long[] amounts = of(payroll);
+        if (previous != null) {
+            for (int i = 0; i < COUNT; i++) {
+                amounts[i] -= previous[i];
+            }
+        }
+        return amounts;
+    }
+
+    static BigDecimal decimal(long[] amounts, int index) {
+        return BigDecimal.valueOf(amounts[index], 2);
+    }
+}
@@ -0,0 +1,78 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Payroll;
+import com.payroll_management_system.model.PayrollRunShard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Writes the payrolls of one run chunk with a JDBC batch insert, adds them to the
+ * YTD and department totals and advances the shard checkpoint in the same
+ * transaction, so a reclaimed shard resumes exactly after the last chunk that was
+ * committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollBatchWriter {
+
+    private static final String INSERT_PAYROLL_SQL =
+        "INSERT INTO payrolls (employee_id, pay_period_start, pay_period_end, gross_salary, " +
+        "tax_deduction, provident_fund, employee_state_insurance, total_deductions, net_salary, " +
+        "ytd_gross_salary, ytd_tax_deduction, ytd_net_salary, processed_date, status, department) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ADVANCE_RUN_SQL =
+        "UPDATE payroll_runs SET processed_employees = processed_employees + ?, " +
+        "skipped_employees = skipped_employees + ?, failed_employees = failed_employees + ? WHERE id = ?";
+
+    // Also renews the lease on the database clock; the row lock keeps other nodes from
+    // stealing the shard until commit
+    private static final String ADVANCE_SHARD_SQL =
+        "UPDATE payroll_run_shards SET last_employee_id = ?, lease_expires_at = NOW() + INTERVAL ? SECOND, " +
+        "heartbeat_at = NOW() WHERE id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PayrollYtdService payrollYtdService;
+    private final PayrollDepartmentSummaryService departmentSummaryService;
+
+    /**
+     * @throws ShardLeaseLostException if this node no longer holds the shard lease;
+     *         nothing of the chunk is written in that case
+     */
+    @Transactional
+    public void writeChunk(PayrollRunShard shard, String owner, long leaseSeconds,
+                           List<Payroll> payrolls, Long lastEmployeeId, int skipped, int failed) {
+        int owned = jdbcTemplate.update(ADVANCE_SHARD_SQL,
+            lastEmployeeId, leaseSeconds, shard.getId(), owner);
+        if (owned == 0) {
+            throw new ShardLeaseLostException("Lease lost on shard " + shard.getId() + " of run " + shard.getRunId());
+        }
+        if (!payrolls.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAYROLL_SQL, payrolls, payrolls.size(), (ps, payroll) -> {
+                ps.setLong(1, payroll.getEmployeeId());
+                ps.setDate(2, Date.valueOf(payroll.getPayPeriodStart()));
+                ps.setDate(3, Date.valueOf(payroll.getPayPeriodEnd()));
+                ps.setBigDecimal(4, payroll.getGrossSalary().toBigDecimal());
+                ps.setBigDecimal(5, payroll.getTaxDeduction().toBigDecimal());
+                ps.setBigDecimal(6, payroll.getProvidentFund().toBigDecimal());
+                ps.setBigDecimal(7, payroll.getEmployeeStateInsurance().toBigDecimal());
+                ps.setBigDecimal(8, payroll.getTotalDeductions().toBigDecimal());
+                ps.setBigDecimal(9, payroll.getNetSalary().toBigDecimal());
+                ps.setBigDecimal(10, payroll.getYtdGrossSalary().toBigDecimal());
+                ps.setBigDecimal(11, payroll.getYtdTaxDeduction().toBigDecimal());
+                ps.setBigDecimal(12, payroll.getYtdNetSalary().toBigDecimal());
+                ps.setDate(13, Date.valueOf(payroll.getProcessedDate()));
+                ps.setString(14, payroll.getStatus());
+                ps.setString(15, payroll.getDepartment());
+            });
+            payrollYtdService.recordNew(payrolls);
+            departmentSummaryService.recordNew(payrolls);
+        }
+        jdbcTemplate.update(ADVANCE_RUN_SQL, payrolls.size(), skipped, failed, shard.getRunId());
+    }
+}
@@ -0,0 +1,169 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Payroll;
+import com.payroll_management_system.model.PayrollDepartmentSummary;
+import com.payroll_management_system.repository.PayrollDepartmentSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the per-department payroll cost of each pay period. Payroll writes
+ * add their change to the department row in the same transaction; summaries are
+ * served from a node-local cache that is evicted once this node's writes commit.
+ * Entries expire after a short TTL (spring.cache.caffeine.spec), which bounds how
+ * long writes made on other nodes stay invisible here.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollDepartmentSummaryService {
+
+    public static final String CACHE_NAME = "payrollDepartmentSummaries";
+
+    static final String UNASSIGNED = "UNASSIGNED";
+
+    private static final String ADD_DELTA_SQL =
+        "INSERT INTO payroll_department_summary (department, pay_period_start, gross_salary, total_deductions, " +
+        "net_salary, headcount, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+        "gross_salary = gross_salary + VALUES(gross_salary), " +
+        "total_deductions = total_deductions + VALUES(total_deductions), " +
+        "net_salary = net_salary + VALUES(net_salary), " +
+        "headcount = headcount + VALUES(headcount), " +
+        "updated_at = VALUES(updated_at)";
+
+    private static final String DELETE_PERIOD_SQL = "DELETE FROM payroll_department_summary WHERE pay_period_start = ?";
+
+    private static final String REBUILD_PERIOD_SQL =
+        "INSERT INTO payroll_department_summary (department, pay_period_start, gross_salary, total_deductions, " +
+        "net_salary, headcount, updated_at) " +
+        "SELECT COALESCE(department, '" + UNASSIGNED + "'), pay_period_start, SUM(gross_salary), " +
+        "SUM(total_deductions), SUM(net_salary), COUNT(*), ? FROM payrolls WHERE pay_period_start = ? " +
+        "GROUP BY COALESCE(department, '" + UNASSIGNED + "'), pay_period_start";
+
+    private final PayrollDepartmentSummaryRepository summaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CACHE_NAME, key = "#payPeriodStart")
+    public List<PayrollDepartmentSummary> getSummaries(LocalDate payPeriodStart) {
+        return summaryRepository.findByPayPeriodStartOrderByDepartment(payPeriodStart);
+    }
+
+    /**
+     * Add a newly created payroll to its department's totals
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNew(Payroll payroll) {
+        record(payroll, null);
+    }
+
+    /**
+     * Apply the change of a recalculated payroll to its department's totals
+     *
+     * @param payroll The payroll after recalculation
+     * @param previousAmounts Its amounts before recalculation, from {@link PayrollAmounts#of}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRecalculation(Payroll payroll, long[] previousAmounts) {
+        record(payroll, previousAmounts);
+    }
+
+    /**
+     * Add a chunk of newly created payrolls, folded to one row per department first
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNew(List<Payroll> payrolls) {
+        // Pay period -> department -> amounts, with the headcount in the last slot
+        Map<LocalDate, Map<String, long[]>> totals = new LinkedHashMap<>();
+        for (Payroll payroll : payrolls) {
+            long[] sum = totals
+                .computeIfAbsent(payroll.getPayPeriodStart(), period -> new LinkedHashMap<>())
+                .computeIfAbsent(departmentOf(payroll), department -> new long[PayrollAmounts.COUNT + 1]);
+            long[] amounts = PayrollAmounts.of(payroll);
+            for (int i = 0; i < PayrollAmounts.COUNT; i++) {
+                sum[i] += amounts[i];
+            }
+            sum[PayrollAmounts.COUNT]++;
+        }
+
+        List<Object[]> args = new ArrayList<>();
+        totals.forEach((period, departments) -> departments.forEach((department, sum) ->
+            args.add(deltaArgs(department, period, sum, (int) sum[PayrollAmounts.COUNT]))));
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_DELTA_SQL, args);
+            totals.keySet().forEach(this::evictAfterCommit);
+        }
+    }
+
+    /**
+     * Rebuild the department totals of one pay period from its payrolls
+     *
+     * @return Number of departments in the period
+     */
+    @Transactional
+    public int rebuild(LocalDate payPeriodStart) {
+        jdbcTemplate.update(DELETE_PERIOD_SQL, Date.valueOf(payPeriodStart));
+        int rows = jdbcTemplate.update(REBUILD_PERIOD_SQL,
+            Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(payPeriodStart));
+        evictAfterCommit(payPeriodStart);
+        log.info("Rebuilt department summary for pay period {}: {} departments", payPeriodStart, rows);
+        return rows;
+    }
+
+    private void record(Payroll payroll, long[] previousAmounts) {
+        long[] amounts = PayrollAmounts.delta(payroll, previousAmounts);
+        jdbcTemplate.update(ADD_DELTA_SQL, deltaArgs(
+            departmentOf(payroll), payroll.getPayPeriodStart(), amounts, previousAmounts == null ? 1 : 0));
+        evictAfterCommit(payroll.getPayPeriodStart());
+    }
+
+    // Evicting before commit would let a concurrent reader cache the old totals again
+    private void evictAfterCommit(LocalDate payPeriodStart) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(payPeriodStart);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(payPeriodStart);
+            }
+        });
+    }
+
+    private static Object[] deltaArgs(String department, LocalDate payPeriodStart, long[] amounts, int headcount) {
+        return new Object[] {
+            department,
+            Date.valueOf(payPeriodStart),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.GROSS),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.TOTAL_DEDUCTIONS),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.NET),
+            headcount,
+            Timestamp.valueOf(LocalDateTime.now())
+        };
+    }
+
+    private static String departmentOf(Payroll payroll) {
+        return payroll.getDepartment() != null ? payroll.getDepartment() : UNASSIGNED;
+    }
+}
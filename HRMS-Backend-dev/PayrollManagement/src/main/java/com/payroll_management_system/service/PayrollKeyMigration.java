@@ -0,0 +1,96 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.statutory.FinancialYear;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Adds the (employee_id, pay_period_start) unique key to payroll tables created
+ * before it existed. Such tables may hold several payrolls of one employee for a
+ * period, which makes the schema update skip the key silently; here the newest
+ * payroll of each pair is kept, the older ones are deleted, the key is added and
+ * the YTD and department totals of the affected periods are rebuilt.
+ * Runs while the context starts, before any scheduler or request can write a
+ * payroll, and fails the startup if the key still cannot be added.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class PayrollKeyMigration {
+
+    static final String KEY_NAME = "uk_payroll_employee_period";
+
+    private static final String KEY_EXISTS_SQL =
+        "SELECT COUNT(*) FROM information_schema.table_constraints WHERE table_schema = DATABASE() " +
+        "AND table_name = 'payrolls' AND constraint_name = '" + KEY_NAME + "'";
+
+    private static final String DUPLICATE_PERIODS_SQL =
+        "SELECT DISTINCT p.pay_period_start FROM payrolls p JOIN payrolls n " +
+        "ON n.employee_id = p.employee_id AND n.pay_period_start = p.pay_period_start AND n.id > p.id";
+
+    private static final String DELETE_DUPLICATES_SQL =
+        "DELETE p FROM payrolls p JOIN payrolls n " +
+        "ON n.employee_id = p.employee_id AND n.pay_period_start = p.pay_period_start AND n.id > p.id";
+
+    private static final String ADD_KEY_SQL =
+        "ALTER TABLE payrolls ADD CONSTRAINT " + KEY_NAME + " UNIQUE (employee_id, pay_period_start)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollYtdService payrollYtdService;
+    private final PayrollDepartmentSummaryService departmentSummaryService;
+
+    public PayrollKeyMigration(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               PayrollYtdService payrollYtdService,
+                               PayrollDepartmentSummaryService departmentSummaryService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.payrollYtdService = payrollYtdService;
+        this.departmentSummaryService = departmentSummaryService;
+        migrate();
+    }
+
+    void migrate() {
+        Integer existing = jdbcTemplate.queryForObject(KEY_EXISTS_SQL, Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        List<LocalDate> periods = jdbcTemplate.queryForList(DUPLICATE_PERIODS_SQL, Date.class)
+            .stream()
+            .map(Date::toLocalDate)
+            .toList();
+        if (!periods.isEmpty()) {
+            int deleted = transactionTemplate.execute(status -> jdbcTemplate.update(DELETE_DUPLICATES_SQL));
+            log.warn("Deleted {} duplicate payrolls in {} pay periods, keeping the newest of each employee and period",
+                deleted, periods.size());
+        }
+
+        // ALTER TABLE commits implicitly, so it runs outside the delete's transaction
+        try {
+            jdbcTemplate.execute(ADD_KEY_SQL);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Could not add unique key " + KEY_NAME + " to payrolls; " +
+                "remove duplicate payrolls of the same employee and period before starting", e);
+        }
+        log.info("Added unique key {} to payrolls", KEY_NAME);
+
+        TreeSet<Integer> financialYears = new TreeSet<>();
+        for (LocalDate period : periods) {
+            departmentSummaryService.rebuild(period);
+            financialYears.add(FinancialYear.of(period));
+        }
+        financialYears.forEach(payrollYtdService::rebuild);
+    }
+}
@@ -0,0 +1,193 @@
+package com.payroll_management_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import com.payroll_management_system.config.StatementCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of payroll generation, published on
+ * {@code /actuator/metrics}.
+ * <ul>
+ *   <li>{@code payroll.phase} timer per phase, tagged {@code mode} single or run</li>
+ *   <li>{@code payroll.employee.latency} timer per employee with p50/p99</li>
+ *   <li>{@code payroll.employees} counter tagged {@code outcome}</li>
+ *   <li>{@code payroll.db.queries} counter of SQL statements issued per phase</li>
+ *   <li>{@code payroll.run.*} meters tagged {@code run} for the most recent runs on this node</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class PayrollMetrics {
+
+    public static final String SINGLE = "single";
+    public static final String RUN = "run";
+
+    private static final double[] PERCENTILES = {0.5, 0.99};
+
+    enum Phase {
+        EMPLOYEE_LOAD("employee_load"),
+        SALARY_LOAD("salary_load"),
+        YTD_LOAD("ytd_load"),
+        ATTENDANCE_FETCH("attendance_fetch"),
+        LEAVE_FETCH("leave_fetch"),
+        CALCULATION("calculation"),
+        SAVE("save");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final int retainedRuns;
+    private final Map<String, Map<Phase, Timer>> phaseTimers = new LinkedHashMap<>();
+    private final Map<String, Map<Phase, Counter>> queryCounters = new LinkedHashMap<>();
+    private final Map<String, Timer> employeeTimers = new LinkedHashMap<>();
+    private final Map<Long, RunMeters> runs = new LinkedHashMap<>();
+
+    public PayrollMetrics(MeterRegistry registry,
+                          @Value("${payroll.metrics.retained-runs:5}") int retainedRuns) {
+        this.registry = registry;
+        this.retainedRuns = retainedRuns;
+        for (String mode : new String[] {SINGLE, RUN}) {
+            Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+            Map<Phase, Counter> counters = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                timers.put(phase, Timer.builder("payroll.phase")
+                    .description("Time spent in one phase of payroll generation")
+                    .tags("mode", mode, "phase", phase.tag)
+                    .register(registry));
+                counters.put(phase, Counter.builder("payroll.db.queries")
+                    .description("SQL statements issued by payroll generation")
+                    .tags("mode", mode, "phase", phase.tag)
+                    .register(registry));
+            }
+            phaseTimers.put(mode, timers);
+            queryCounters.put(mode, counters);
+            employeeTimers.put(mode, Timer.builder("payroll.employee.latency")
+                .description("Time to produce the payroll of one employee")
+                .tags("mode", mode)
+                .publishPercentiles(PERCENTILES)
+                .register(registry));
+        }
+    }
+
+    /**
+     * Time one phase and count the SQL statements it issues on this thread
+     */
+    <T> T time(String mode, Phase phase, Supplier<T> work) {
+        return measure(mode, phase, work, null);
+    }
+
+    private <T> T measure(String mode, Phase phase, Supplier<T> work, Counter runQueries) {
+        long before = StatementCounter.count();
+        try {
+            return phaseTimers.get(mode).get(phase).record(work);
+        } finally {
+            long statements = StatementCounter.count() - before;
+            if (statements > 0) {
+                queryCounters.get(mode).get(phase).increment(statements);
+                if (runQueries != null) {
+                    runQueries.increment(statements);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the outcome and end-to-end latency of one employee's payroll
+     */
+    void recordEmployee(String mode, long nanos, boolean success) {
+        employeeTimers.get(mode).record(nanos, TimeUnit.NANOSECONDS);
+        registry.counter("payroll.employees", "mode", mode, "outcome", success ? "success" : "failure").increment();
+    }
+
+    /**
+     * Per-run meters of a payroll run, registered on first use
+     */
+    synchronized RunMeters forRun(Long runId) {
+        RunMeters meters = runs.get(runId);
+        if (meters == null) {
+            meters = new RunMeters(runId);
+            runs.put(runId, meters);
+            // Only the latest runs are kept so the run tag stays bounded
+            Iterator<RunMeters> oldest = runs.values().iterator();
+            while (runs.size() > retainedRuns) {
+                oldest.next().remove();
+                oldest.remove();
+            }
+        }
+        return meters;
+    }
+
+    final class RunMeters {
+        private final Long runId;
+        private final Counter employees;
+        private final Counter failures;
+        private final Counter queries;
+        private final Timer latency;
+        // Whole-run latencies for the summary; the timer's percentiles only cover a decaying window
+        private final Histogram runLatency = new ConcurrentHistogram(3);
+
+        private RunMeters(Long runId) {
+            this.runId = runId;
+            Tags tags = Tags.of("run", String.valueOf(runId));
+            this.employees = Counter.builder("payroll.run.employees")
+                .description("Employees processed by a payroll run on this node")
+                .tags(tags).register(registry);
+            this.failures = Counter.builder("payroll.run.failures")
+                .description("Employees whose payroll failed in a payroll run on this node")
+                .tags(tags).register(registry);
+            this.queries = Counter.builder("payroll.run.db.queries")
+                .description("SQL statements issued by a payroll run on this node")
+                .tags(tags).register(registry);
+            this.latency = Timer.builder("payroll.run.employee.latency")
+                .description("Per-employee calculation latency within a payroll run")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        }
+
+        <T> T time(Phase phase, Supplier<T> work) {
+            return measure(RUN, phase, work, queries);
+        }
+
+        void recordEmployee(long nanos, boolean success) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            runLatency.recordValue(Math.max(0L, nanos));
+            (success ? employees : failures).increment();
+            PayrollMetrics.this.recordEmployee(RUN, nanos, success);
+        }
+
+        void logSummary() {
+            double p50 = runLatency.getValueAtPercentile(50.0) / 1_000_000.0;
+            double p99 = runLatency.getValueAtPercentile(99.0) / 1_000_000.0;
+            log.info("Payroll run {} on this node: {} employees, {} failed, p50 {} ms, p99 {} ms, {} queries",
+                runId, (long) employees.count(), (long) failures.count(),
+                String.format("%.2f", p50), String.format("%.2f", p99), (long) queries.count());
+        }
+
+        private void remove() {
+            registry.remove(employees);
+            registry.remove(failures);
+            registry.remove(queries);
+            registry.remove(latency);
+        }
+    }
+}
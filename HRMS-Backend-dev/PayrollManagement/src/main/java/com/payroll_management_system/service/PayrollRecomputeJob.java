@@ -0,0 +1,85 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.PayrollStaleMark;
+import com.payroll_management_system.repository.PayrollStaleMarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Recomputes payrolls whose attendance or leave changed after they were
+ * generated. The attendance service marks (employee, pay period) pairs stale;
+ * this job recalculates only those and updates the existing payroll row. A
+ * mark that fails is retried later with exponential backoff, so it never holds
+ * up the marks queued behind it, and is left alone after max-attempts until
+ * a new change re-marks it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRecomputeJob {
+
+    // Longest wait between two attempts of the same mark
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+
+    private final PayrollStaleMarkRepository staleMarkRepository;
+    private final PayrollService payrollService;
+
+    @Value("${payroll.recompute.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payroll.recompute.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payroll.recompute.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    @Scheduled(fixedDelayString = "${payroll.recompute.interval-ms:60000}")
+    public void recomputeStalePayrolls() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PayrollStaleMark> marks;
+        do {
+            marks = staleMarkRepository.findByMarkedAtLessThanEqualAndAttemptsLessThanOrderByMarkedAtAsc(
+                now, maxAttempts, PageRequest.of(0, batchSize));
+            int recomputed = 0;
+            for (PayrollStaleMark mark : marks) {
+                try {
+                    // Periods without a payroll yet are picked up by the next run
+                    if (payrollService.recalculatePayroll(mark.getEmployeeId(), mark.getPayPeriodStart())) {
+                        recomputed++;
+                    }
+                    staleMarkRepository.deleteIfNotRemarked(mark.getId(), mark.getMarkedAt());
+                } catch (Exception e) {
+                    defer(mark, e);
+                }
+            }
+            if (recomputed > 0) {
+                log.info("Recomputed {} stale payrolls", recomputed);
+            }
+        } while (marks.size() == batchSize);
+    }
+
+    // Moves the mark past this run so the rest of the queue keeps flowing
+    private void defer(PayrollStaleMark mark, Exception e) {
+        int attempt = mark.getAttempts() + 1;
+        Duration backoff = Duration.ofMillis(retryBackoffMs).multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        staleMarkRepository.deferIfNotRemarked(mark.getId(), mark.getMarkedAt(), LocalDateTime.now().plus(backoff));
+        if (attempt >= maxAttempts) {
+            log.error("Payroll recompute for employee {} period {} failed {} times, giving up until it changes again: {}",
+                mark.getEmployeeId(), mark.getPayPeriodStart(), attempt, e.getMessage(), e);
+        } else {
+            log.warn("Payroll recompute failed for employee {} period {} (attempt {}), retrying in {}: {}",
+                mark.getEmployeeId(), mark.getPayPeriodStart(), attempt, backoff, e.getMessage());
+        }
+    }
+}
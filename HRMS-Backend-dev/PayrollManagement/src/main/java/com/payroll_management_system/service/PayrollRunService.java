@@ -0,0 +1,393 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.config.PayrollRunProperties;
+import com.payroll_management_system.model.*;
+import com.payroll_management_system.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Org-wide payroll runs, executed cooperatively by every PayrollManagement node.
+ * A run is split into employee-id range shards when it starts. Each node polls
+ * for unclaimed or expired shards, takes a lease on them and renews it by
+ * heartbeat. Within a shard, employees are walked in primary key order, chunks
+ * load salary revisions, attendance and leaves in three queries, are computed on a bounded worker
+ * pool and are written through {@link PayrollBatchWriter}.
+ */
+@Service
+@Slf4j
+public class PayrollRunService {
+
+    private static final Set<EmployeeStatus> EXCLUDED_STATUSES =
+        EnumSet.of(EmployeeStatus.INACTIVE, EmployeeStatus.TERMINATED);
+    private static final Set<PayrollRunStatus> ACTIVE_STATUSES =
+        EnumSet.of(PayrollRunStatus.QUEUED, PayrollRunStatus.RUNNING);
+
+    private final PayrollService payrollService;
+    private final PayrollBatchWriter payrollBatchWriter;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunShardRepository shardRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRollupReader attendanceRollupReader;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final PayrollRepository payrollRepository;
+    private final SalaryRevisionRepository salaryRevisionRepository;
+    private final PayrollYtdService payrollYtdService;
+    private final PayrollMetrics payrollMetrics;
+    private final PayrollRunProperties properties;
+    private final TaskExecutor runExecutor;
+    private final TaskExecutor workerExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    // Shards this node is processing; new shards are only claimed below the limit
+    private final AtomicInteger activeShards = new AtomicInteger();
+
+    public PayrollRunService(PayrollService payrollService,
+                             PayrollBatchWriter payrollBatchWriter,
+                             PayrollRunRepository payrollRunRepository,
+                             PayrollRunShardRepository shardRepository,
+                             EmployeeRepository employeeRepository,
+                             AttendanceRollupReader attendanceRollupReader,
+                             LeaveRequestRepository leaveRequestRepository,
+                             PayrollRepository payrollRepository,
+                             SalaryRevisionRepository salaryRevisionRepository,
+                             PayrollYtdService payrollYtdService,
+                             PayrollMetrics payrollMetrics,
+                             PayrollRunProperties properties,
+                             @Qualifier("payrollRunExecutor") TaskExecutor runExecutor,
+                             @Qualifier("payrollWorkerExecutor") TaskExecutor workerExecutor,
+                             PlatformTransactionManager transactionManager) {
+        this.payrollService = payrollService;
+        this.payrollBatchWriter = payrollBatchWriter;
+        this.payrollRunRepository = payrollRunRepository;
+        this.shardRepository = shardRepository;
+        this.employeeRepository = employeeRepository;
+        this.attendanceRollupReader = attendanceRollupReader;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.payrollRepository = payrollRepository;
+        this.salaryRevisionRepository = salaryRevisionRepository;
+        this.payrollYtdService = payrollYtdService;
+        this.payrollMetrics = payrollMetrics;
+        this.properties = properties;
+        this.runExecutor = runExecutor;
+        this.workerExecutor = workerExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = resolveNodeId(properties.getNodeId());
+    }
+
+    /**
+     * Start a payroll run for every payable employee, or for one department
+     *
+     * @param processedDate The date of payroll processing, used to derive the pay period
+     * @param department Department to restrict the run to, or null for the whole organisation
+     * @return The queued run, or the run already in progress for the same scope
+     */
+    public PayrollRun startRun(LocalDate processedDate, String department) {
+        LocalDate payPeriodStart = payrollService.calculatePayPeriodStart(processedDate);
+
+        List<PayrollRun> activeRuns = payrollRunRepository.findActiveRuns(payPeriodStart, department, ACTIVE_STATUSES);
+        if (!activeRuns.isEmpty()) {
+            return activeRuns.get(0);
+        }
+        try {
+            return transactionTemplate.execute(status -> createRun(processedDate, payPeriodStart, department));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created the run for the same scope first
+            return payrollRunRepository.findActiveRuns(payPeriodStart, department, ACTIVE_STATUSES)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private PayrollRun createRun(LocalDate processedDate, LocalDate payPeriodStart, String department) {
+        PayrollRun run = new PayrollRun();
+        run.setPayPeriodStart(payPeriodStart);
+        run.setPayPeriodEnd(payrollService.calculatePayPeriodEnd(payPeriodStart));
+        run.setProcessedDate(processedDate);
+        run.setDepartment(department);
+        run.setStatus(PayrollRunStatus.QUEUED);
+        run.setActiveScope(payPeriodStart + ":" + (department != null ? department : ""));
+        run.setTotalEmployees((int) employeeRepository.countPayable(department, EXCLUDED_STATUSES));
+        run.setCreatedAt(LocalDateTime.now());
+        PayrollRun saved = payrollRunRepository.saveAndFlush(run);
+
+        List<PayrollRunShard> shards = planShards(saved);
+        saved.setTotalShards(shards.size());
+        if (shards.isEmpty()) {
+            saved.setStatus(PayrollRunStatus.COMPLETED);
+            saved.setCompletedAt(LocalDateTime.now());
+            saved.setActiveScope(null);
+        }
+        shardRepository.saveAll(shards);
+        return payrollRunRepository.save(saved);
+    }
+
+    public PayrollRun getRun(Long runId) {
+        return payrollRunRepository.findById(runId)
+            .orElseThrow(() -> new RuntimeException("Payroll run not found: " + runId));
+    }
+
+    public List<PayrollRun> getActiveRuns() {
+        return payrollRunRepository.findByStatusIn(ACTIVE_STATUSES);
+    }
+
+    public List<PayrollRunShard> getShards(Long runId) {
+        return shardRepository.findByRunIdOrderByShardIndex(runId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Claim unowned or expired shards while this node has free run threads.
+     * Shards of a node that stopped heartbeating are picked up here by any node.
+     */
+    @Scheduled(fixedDelayString = "${payroll.run.poll-interval-ms:5000}")
+    public void claimShards() {
+        int free = properties.getMaxConcurrentShards() - activeShards.get();
+        if (free <= 0) {
+            return;
+        }
+        // Fetch a few extra candidates since other nodes compete for the same shards
+        List<PayrollRunShard> candidates = shardRepository.findClaimable(free * 2);
+
+        for (PayrollRunShard shard : candidates) {
+            if (activeShards.get() >= properties.getMaxConcurrentShards()) {
+                break;
+            }
+            int claimed = shardRepository.claim(shard.getId(), nodeId, properties.getLeaseSeconds());
+            if (claimed == 0) {
+                continue;
+            }
+            if (shard.getOwner() != null) {
+                log.warn("Took over shard {} of run {} from {} after its lease expired",
+                    shard.getShardIndex(), shard.getRunId(), shard.getOwner());
+            }
+            activeShards.incrementAndGet();
+            payrollRunRepository.markStarted(shard.getRunId(), PayrollRunStatus.RUNNING, LocalDateTime.now());
+            runExecutor.execute(() -> {
+                try {
+                    executeShard(shard.getId());
+                } finally {
+                    activeShards.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Renew the leases of every shard this node is processing
+     */
+    @Scheduled(fixedDelayString = "${payroll.run.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (activeShards.get() > 0) {
+            shardRepository.heartbeat(nodeId, properties.getLeaseSeconds());
+        }
+    }
+
+    void executeShard(Long shardId) {
+        PayrollRunShard shard = shardRepository.findById(shardId)
+            .orElseThrow(() -> new RuntimeException("Payroll run shard not found: " + shardId));
+        PayrollRun run = getRun(shard.getRunId());
+        PayrollMetrics.RunMeters metrics = payrollMetrics.forRun(run.getId());
+
+        try {
+            long afterId = shard.getLastEmployeeId() != null ? shard.getLastEmployeeId() : shard.getFromEmployeeId() - 1;
+            while (true) {
+                long chunkAfterId = afterId;
+                List<Employee> chunk = metrics.time(PayrollMetrics.Phase.EMPLOYEE_LOAD,
+                    () -> employeeRepository.findPayrollChunk(
+                        chunkAfterId, shard.getToEmployeeId(), run.getDepartment(), EXCLUDED_STATUSES,
+                        PageRequest.of(0, properties.getChunkSize())
+                    ));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                processChunk(run, shard, chunk, metrics);
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+            shardRepository.finish(shardId, nodeId, PayrollRunStatus.COMPLETED.name());
+            log.info("Shard {} of payroll run {} completed on {}", shard.getShardIndex(), run.getId(), nodeId);
+        } catch (ShardLeaseLostException e) {
+            // Another node reclaimed the shard; it continues from the last committed chunk
+            log.warn("Stopped shard {} of payroll run {}: {}", shard.getShardIndex(), run.getId(), e.getMessage());
+            return;
+        } catch (Exception e) {
+            log.error("Shard {} of payroll run {} failed: {}", shard.getShardIndex(), run.getId(), e.getMessage(), e);
+            // Attempts already counts this claim
+            if (shard.getAttempts() >= properties.getMaxShardAttempts()) {
+                shardRepository.finish(shardId, nodeId, PayrollRunStatus.FAILED.name());
+            } else {
+                shardRepository.release(shardId, nodeId, PayrollRunStatus.RUNNING, PayrollRunStatus.QUEUED);
+                return;
+            }
+        }
+        finishRunIfDone(run.getId());
+    }
+
+    private void finishRunIfDone(Long runId) {
+        if (shardRepository.countByRunIdAndStatusIn(runId, ACTIVE_STATUSES) > 0) {
+            return;
+        }
+        PayrollRunStatus status;
+        String error = null;
+        if (shardRepository.existsByRunIdAndStatus(runId, PayrollRunStatus.FAILED)) {
+            status = PayrollRunStatus.FAILED;
+            error = "One or more shards failed";
+        } else {
+            // Employees whose calculation failed were skipped past; a new run picks up only them
+            int failedEmployees = getRun(runId).getFailedEmployees();
+            status = failedEmployees > 0 ? PayrollRunStatus.COMPLETED_WITH_ERRORS : PayrollRunStatus.COMPLETED;
+            if (failedEmployees > 0) {
+                error = failedEmployees + " employees could not be calculated; start the run again to retry them";
+            }
+        }
+        int updated = payrollRunRepository.markFinishedIfActive(runId, status, LocalDateTime.now(), error, ACTIVE_STATUSES);
+        if (updated > 0) {
+            log.info("Payroll run {} finished as {}", runId, status);
+            payrollMetrics.forRun(runId).logSummary();
+        }
+    }
+
+    /**
+     * Cut the payable employees into contiguous id ranges of shardSize employees.
+     * The first shard starts at zero and the last is open-ended, so employees
+     * added while the run is in progress still fall into a shard.
+     */
+    private List<PayrollRunShard> planShards(PayrollRun run) {
+        List<PayrollRunShard> shards = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = employeeRepository.findPayableIds(
+                afterId, run.getDepartment(), EXCLUDED_STATUSES, PageRequest.of(0, properties.getShardSize()));
+            if (ids.isEmpty()) {
+                break;
+            }
+            PayrollRunShard shard = new PayrollRunShard();
+            shard.setRunId(run.getId());
+            shard.setShardIndex(shards.size());
+            shard.setFromEmployeeId(afterId + 1);
+            shard.setToEmployeeId(ids.get(ids.size() - 1));
+            shard.setStatus(PayrollRunStatus.QUEUED);
+            shards.add(shard);
+            afterId = shard.getToEmployeeId();
+        }
+        if (!shards.isEmpty()) {
+            shards.get(shards.size() - 1).setToEmployeeId(Long.MAX_VALUE);
+        }
+        return shards;
+    }
+
+    private static String resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "payroll";
+        }
+        // A restarted node gets a new id, so its old leases simply expire and are reclaimed
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private void processChunk(PayrollRun run, PayrollRunShard shard, List<Employee> chunk,
+                              PayrollMetrics.RunMeters metrics) {
+        LocalDate start = run.getPayPeriodStart();
+        LocalDate end = run.getPayPeriodEnd();
+        List<Long> employeeIds = chunk.stream().map(Employee::getId).toList();
+
+        // Employees paid by an earlier run or a single generate call are skipped
+        Set<Long> alreadyPaid = metrics.time(PayrollMetrics.Phase.EMPLOYEE_LOAD,
+            () -> new HashSet<>(payrollRepository.findEmployeeIdsWithPayroll(start, employeeIds)));
+
+        Map<Long, List<Attendance>> attendanceByEmployee = metrics.time(PayrollMetrics.Phase.ATTENDANCE_FETCH,
+            () -> attendanceRollupReader.read(employeeIds, start, end)
+                .stream()
+                .collect(Collectors.groupingBy(Attendance::getEmployeeId)));
+        Map<Long, List<SalaryRevision>> revisionsByEmployee = metrics.time(PayrollMetrics.Phase.SALARY_LOAD,
+            () -> salaryRevisionRepository
+                .findByEmployeeIdInAndEffectiveFromLessThanEqualOrderByEmployeeIdAscEffectiveFromAsc(employeeIds, end)
+                .stream()
+                .collect(Collectors.groupingBy(SalaryRevision::getEmployeeId)));
+        Map<Long, PayrollYtdService.PriorTotals> priorTotalsByEmployee = metrics.time(PayrollMetrics.Phase.YTD_LOAD,
+            () -> payrollYtdService.priorTotals(employeeIds, start));
+        Map<Long, List<LeaveRequest>> leavesByEmployee = metrics.time(PayrollMetrics.Phase.LEAVE_FETCH,
+            () -> leaveRequestRepository
+                .findByEmployeeIdInAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                    employeeIds, LeaveStatus.APPROVED, end, start)
+                .stream()
+                .collect(Collectors.groupingBy(LeaveRequest::getEmployeeId)));
+
+        List<CompletableFuture<Payroll>> futures = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            if (alreadyPaid.contains(employee.getId())) {
+                continue;
+            }
+            futures.add(CompletableFuture
+                .supplyAsync(() -> metrics.time(PayrollMetrics.Phase.CALCULATION, () -> {
+                    long started = System.nanoTime();
+                    boolean success = false;
+                    try {
+                        Payroll payroll = payrollService.buildPayroll(
+                            employee,
+                            revisionsByEmployee.getOrDefault(employee.getId(), List.of()),
+                            attendanceByEmployee.getOrDefault(employee.getId(), List.of()),
+                            leavesByEmployee.getOrDefault(employee.getId(), List.of()),
+                            priorTotalsByEmployee.getOrDefault(employee.getId(), PayrollYtdService.PriorTotals.NONE),
+                            start,
+                            end
+                        );
+                        success = true;
+                        return payroll;
+                    } finally {
+                        metrics.recordEmployee(System.nanoTime() - started, success);
+                    }
+                }), workerExecutor)
+                .exceptionally(e -> {
+                    log.error("Payroll calculation failed for employee {} in run {}: {}",
+                        employee.getId(), run.getId(), e.getMessage(), e);
+                    return null;
+                }));
+        }
+
+        List<Payroll> payrolls = futures.stream()
+            .map(CompletableFuture::join)
+            .filter(Objects::nonNull)
+            .toList();
+
+        // Shard advance, batch insert, the two aggregate upserts and the run counters
+        metrics.time(PayrollMetrics.Phase.SAVE, () -> {
+            payrollBatchWriter.writeChunk(
+                shard,
+                nodeId,
+                properties.getLeaseSeconds(),
+                payrolls,
+                chunk.get(chunk.size() - 1).getId(),
+                alreadyPaid.size(),
+                futures.size() - payrolls.size()
+            );
+            return null;
+        });
+    }
+}
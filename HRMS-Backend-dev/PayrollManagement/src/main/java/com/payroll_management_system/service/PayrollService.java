@@ -1,38 +1,48 @@
 package com.payroll_management_system.service;
 
+import com.payroll_management_system.dto.PayrollPage;
+import com.payroll_management_system.dto.PayrollView;
 import com.payroll_management_system.model.*;
 import com.payroll_management_system.repository.*;
+import com.payroll_management_system.statutory.CompiledStatutoryRules;
+import com.payroll_management_system.statutory.FinancialYear;
+import com.payroll_management_system.statutory.StatutoryRuleEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PayrollService {
 
-    private static final double TAX_RATE = 0.20;
-    private static final double PF_RATE = 0.12;
-    private static final double ESI_RATE = 0.0175;
+    private static final int MAX_PAGE_SIZE = 500;
 
     
 
     private final EmployeeRepository employeeRepository;
-    private final AttendanceRepository attendanceRepository;
+    private final AttendanceRollupReader attendanceRollupReader;
     private final LeaveRequestRepository leaveRequestRepository;
     private final PayrollRepository payrollRepository;
+    private final SalaryRevisionRepository salaryRevisionRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final StatutoryRuleEngine statutoryRuleEngine;
+    private final PayrollYtdService payrollYtdService;
+    private final PayrollDepartmentSummaryService departmentSummaryService;
+    private final PayrollMetrics payrollMetrics;
 
     /**
-     * Generate payroll for an employee for a specific processing date
+     * Generate payroll for an employee for a specific processing date.
+     * An existing payroll for the same pay period is recalculated in place.
      * 
      * @param employeeId The ID of the employee
      * @param processedDate The date of payroll processing
@@ -40,72 +50,157 @@ public class PayrollService {
      */
     @Transactional
     public Payroll generatePayroll(Long employeeId, LocalDate processedDate) {
+        long started = System.nanoTime();
+        String mode = PayrollMetrics.SINGLE;
         try {
             // Determine pay period (10th to 10th of next month)
             LocalDate payPeriodStart = calculatePayPeriodStart(processedDate);
             LocalDate payPeriodEnd = calculatePayPeriodEnd(payPeriodStart);
 
             // Fetch employee details
-            Employee employee = getEmployeeOrThrow(employeeId);
+            Employee employee = payrollMetrics.time(mode, PayrollMetrics.Phase.EMPLOYEE_LOAD,
+                () -> getEmployeeOrThrow(employeeId));
+            SalaryTimeline salaryTimeline = payrollMetrics.time(mode, PayrollMetrics.Phase.SALARY_LOAD,
+                () -> getSalaryTimeline(employee, payPeriodEnd));
+            List<Attendance> attendances = payrollMetrics.time(mode, PayrollMetrics.Phase.ATTENDANCE_FETCH,
+                () -> getAttendances(employee.getId(), payPeriodStart, payPeriodEnd));
+            List<LeaveRequest> leaves = payrollMetrics.time(mode, PayrollMetrics.Phase.LEAVE_FETCH,
+                () -> getApprovedLeaves(employee.getId(), payPeriodStart, payPeriodEnd));
+
+            // Payroll already stored for the period, and what was paid before it this financial year
+            Optional<Payroll> existing = payrollMetrics.time(mode, PayrollMetrics.Phase.YTD_LOAD,
+                () -> payrollRepository.findByEmployeeIdAndPayPeriodStart(employeeId, payPeriodStart));
+            PayrollYtdService.PriorTotals priorTotals = payrollMetrics.time(mode, PayrollMetrics.Phase.YTD_LOAD,
+                () -> payrollYtdService.priorTotals(
+                    employeeId, payPeriodStart, existing.map(PayrollAmounts::of).orElse(null)));
 
             // Calculate salary components
-            PayrollCalculation calculation = calculatePayroll(
-                employee, 
-                payPeriodStart, 
-                payPeriodEnd
-            );
+            PayrollCalculation calculation = payrollMetrics.time(mode, PayrollMetrics.Phase.CALCULATION,
+                () -> calculatePayroll(
+                    employee, salaryTimeline, attendances, leaves, priorTotals, payPeriodStart, payPeriodEnd));
 
-            // Create and save payroll record
-            return createPayrollRecord(
-            		employeeId,
-                employee, 
-                calculation, 
-                payPeriodStart, 
-                payPeriodEnd
-            );
+            // Create and save payroll record: save and the two aggregate upserts
+            Payroll payroll = payrollMetrics.time(mode, PayrollMetrics.Phase.SAVE,
+                () -> createPayrollRecord(existing, employeeId, employee, calculation, payPeriodStart, payPeriodEnd));
+            payrollMetrics.recordEmployee(mode, System.nanoTime() - started, true);
+            return payroll;
 
         } catch (Exception e) {
+            payrollMetrics.recordEmployee(mode, System.nanoTime() - started, false);
             log.error("Payroll generation failed for employee {}: {}", employeeId, e.getMessage(), e);
             throw new RuntimeException("Payroll generation failed", e);
         }
     }
 
+    /**
+     * Recalculate the existing payroll of an employee for a pay period after
+     * its attendance or leaves changed
+     *
+     * @param employeeId The ID of the employee
+     * @param payPeriodStart Start of the pay period
+     * @return false when no payroll exists yet for the period
+     */
+    @Transactional
+    public boolean recalculatePayroll(Long employeeId, LocalDate payPeriodStart) {
+        Optional<Payroll> existing = payrollRepository.findByEmployeeIdAndPayPeriodStart(employeeId, payPeriodStart);
+        if (existing.isEmpty()) {
+            return false;
+        }
+        Payroll payroll = existing.get();
+        long[] previousAmounts = PayrollAmounts.of(payroll);
+        Employee employee = getEmployeeOrThrow(employeeId);
+        LocalDate payPeriodEnd = payroll.getPayPeriodEnd();
+
+        PayrollCalculation calculation = calculatePayroll(
+            employee,
+            getSalaryTimeline(employee, payPeriodEnd),
+            getAttendances(employee.getId(), payPeriodStart, payPeriodEnd),
+            getApprovedLeaves(employee.getId(), payPeriodStart, payPeriodEnd),
+            payrollYtdService.priorTotals(employeeId, payPeriodStart, previousAmounts),
+            payPeriodStart,
+            payPeriodEnd
+        );
+        applyCalculation(payroll, calculation);
+        payrollRepository.save(payroll);
+        payrollYtdService.recordRecalculation(payroll, previousAmounts);
+        departmentSummaryService.recordRecalculation(payroll, previousAmounts);
+        return true;
+    }
+
+    /**
+     * Build an unsaved payroll from attendance and leave rows that were already
+     * loaded for the period. Used by payroll runs, which fetch those rows for a
+     * whole chunk of employees at once.
+     *
+     * @param employee The employee being paid
+     * @param salaryRevisions Salary revisions of the employee up to the period end, oldest first
+     * @param attendances Attendance rows of the employee within the period
+     * @param approvedLeaves Approved leaves of the employee overlapping the period
+     * @param priorTotals What the employee was paid earlier in the financial year
+     * @param payPeriodStart Start of the pay period
+     * @param payPeriodEnd End of the pay period
+     * @return Payroll entity that has not been persisted
+     */
+    public Payroll buildPayroll(
+        Employee employee,
+        List<SalaryRevision> salaryRevisions,
+        List<Attendance> attendances,
+        List<LeaveRequest> approvedLeaves,
+        PayrollYtdService.PriorTotals priorTotals,
+        LocalDate payPeriodStart,
+        LocalDate payPeriodEnd
+    ) {
+        PayrollCalculation calculation = calculatePayroll(
+            employee, salaryTimeline(employee, salaryRevisions), attendances, approvedLeaves, priorTotals,
+            payPeriodStart, payPeriodEnd
+        );
+        return toPayroll(employee.getId(), employee, calculation, payPeriodStart, payPeriodEnd);
+    }
+
     /**
      * Comprehensive payroll calculation
      */
     private PayrollCalculation calculatePayroll(
         Employee employee, 
+        SalaryTimeline salaryTimeline,
+        List<Attendance> attendances,
+        List<LeaveRequest> approvedLeaves,
+        PayrollYtdService.PriorTotals priorTotals,
         LocalDate payPeriodStart, 
         LocalDate payPeriodEnd
     ) {
-        // Base salary
-        BigDecimal grossSalary = Optional.ofNullable(employee.getBasicSalary())
-            .orElse(BigDecimal.ZERO);
+        // Calculate working days on the holiday calendar of the employee's location
+        BitSet workingDayMask = workingDayCalendar.workingDayMask(
+            employee.getWorkLocation(), payPeriodStart, payPeriodEnd);
+        int workingDays = workingDayMask.cardinality();
 
-        // Calculate working days and attendance
-        int workingDays = calculateWorkingDays(payPeriodStart, payPeriodEnd);
-        List<Attendance> attendances = getAttendances(employee.getId(), payPeriodStart, payPeriodEnd);
-        List<LeaveRequest> approvedLeaves = getApprovedLeaves(employee.getId(), payPeriodStart, payPeriodEnd);
+        // Base salary in paise, prorated across salary revisions inside the period
+        long grossSalary = salaryTimeline.prorate(workingDayMask, payPeriodStart, workingDays);
 
-        // Calculate deductions
-        double totalDeductionDays = calculateTotalDeductionDays(
+        // Calculate deductions, counted in half days
+        int totalDeductionHalfDays = calculateTotalDeductionHalfDays(
             attendances, 
             approvedLeaves, 
+            workingDayMask,
             payPeriodStart, 
             payPeriodEnd
         );
 
         // Adjust gross salary based on attendance
-        BigDecimal dailyWage = calculateDailyWage(grossSalary, workingDays);
-        BigDecimal salaryDeduction = calculateSalaryDeduction(dailyWage, totalDeductionDays);
-        BigDecimal adjustedGrossSalary = grossSalary.subtract(salaryDeduction);
-
-        // Calculate statutory deductions
-        BigDecimal taxDeduction = calculateTaxDeduction(adjustedGrossSalary);
-        BigDecimal providentFund = calculateProvidentFund(adjustedGrossSalary);
-        BigDecimal employeeStateInsurance = calculateESI(adjustedGrossSalary);
-        BigDecimal totalDeductions = taxDeduction.add(providentFund).add(employeeStateInsurance);
-        BigDecimal netSalary = adjustedGrossSalary.subtract(totalDeductions);
+        long dailyWage = calculateDailyWage(grossSalary, workingDays);
+        long salaryDeduction = calculateSalaryDeduction(dailyWage, totalDeductionHalfDays);
+        long adjustedGrossSalary = grossSalary - salaryDeduction;
+
+        // Calculate statutory deductions; each component is rounded to the paisa
+        // so that the components always add up to the total. Tax is projected from
+        // what was already paid and withheld this financial year.
+        CompiledStatutoryRules rules = statutoryRuleEngine.rulesFor(payPeriodStart);
+        long taxDeduction = rules.monthlyTax(adjustedGrossSalary, priorTotals.grossSalary(),
+            priorTotals.taxDeduction(), FinancialYear.monthsRemaining(payPeriodStart));
+        long providentFund = rules.providentFund(adjustedGrossSalary);
+        long employeeStateInsurance = rules.employeeStateInsurance(adjustedGrossSalary);
+        long totalDeductions = taxDeduction + providentFund + employeeStateInsurance;
+        long netSalary = adjustedGrossSalary - totalDeductions;
 
         return new PayrollCalculation(
             adjustedGrossSalary, 
@@ -113,47 +208,81 @@ public class PayrollService {
             providentFund, 
             employeeStateInsurance, 
             totalDeductions, 
-            netSalary
+            netSalary,
+            priorTotals.grossSalary() + adjustedGrossSalary,
+            priorTotals.taxDeduction() + taxDeduction,
+            priorTotals.netSalary() + netSalary
         );
     }
 
     /**
-     * Create and save payroll record
+     * Create and save payroll record, or update the one already stored for the period
      */
     private Payroll createPayrollRecord(
+        Optional<Payroll> existing,
     	Long employeeId,
         Employee employee, 
         PayrollCalculation calculation, 
         LocalDate payPeriodStart, 
         LocalDate payPeriodEnd
+    ) {
+        if (existing.isPresent()) {
+            Payroll payroll = existing.get();
+            long[] previousAmounts = PayrollAmounts.of(payroll);
+            applyCalculation(payroll, calculation);
+            payroll = payrollRepository.save(payroll);
+            payrollYtdService.recordRecalculation(payroll, previousAmounts);
+            departmentSummaryService.recordRecalculation(payroll, previousAmounts);
+            return payroll;
+        }
+        Payroll payroll = payrollRepository.save(
+            toPayroll(employeeId, employee, calculation, payPeriodStart, payPeriodEnd)
+        );
+        payrollYtdService.recordNew(payroll);
+        departmentSummaryService.recordNew(payroll);
+        return payroll;
+    }
+
+    private Payroll toPayroll(
+        Long employeeId,
+        Employee employee,
+        PayrollCalculation calculation,
+        LocalDate payPeriodStart,
+        LocalDate payPeriodEnd
     ) {
         Payroll payroll = new Payroll();
         payroll.setEmployeeId(employeeId);
         payroll.setEmployee(employee);
         payroll.setPayPeriodStart(payPeriodStart);
         payroll.setPayPeriodEnd(payPeriodEnd);
-        payroll.setGrossSalary(calculation.grossSalary.doubleValue());
-        payroll.setTaxDeduction(calculation.taxDeduction.doubleValue());
-        payroll.setProvidentFund(calculation.providentFund.doubleValue());
-        payroll.setEmployeeStateInsurance(calculation.employeeStateInsurance.doubleValue());
-        payroll.setTotalDeductions(calculation.totalDeductions.doubleValue());
-        payroll.setNetSalary(calculation.netSalary.doubleValue());
-        payroll.setProcessedDate(LocalDate.now());
+        applyCalculation(payroll, calculation);
         payroll.setStatus("PROCESSED");
         payroll.setDepartment(employee.getDepartment());
+        return payroll;
+    }
 
-        return payrollRepository.save(payroll);
+    private void applyCalculation(Payroll payroll, PayrollCalculation calculation) {
+        payroll.setGrossSalary(Money.ofPaise(calculation.grossSalary));
+        payroll.setTaxDeduction(Money.ofPaise(calculation.taxDeduction));
+        payroll.setProvidentFund(Money.ofPaise(calculation.providentFund));
+        payroll.setEmployeeStateInsurance(Money.ofPaise(calculation.employeeStateInsurance));
+        payroll.setTotalDeductions(Money.ofPaise(calculation.totalDeductions));
+        payroll.setNetSalary(Money.ofPaise(calculation.netSalary));
+        payroll.setYtdGrossSalary(Money.ofPaise(calculation.ytdGrossSalary));
+        payroll.setYtdTaxDeduction(Money.ofPaise(calculation.ytdTaxDeduction));
+        payroll.setYtdNetSalary(Money.ofPaise(calculation.ytdNetSalary));
+        payroll.setProcessedDate(LocalDate.now());
     }
 
     // Utility methods for calculations
 
-    private LocalDate calculatePayPeriodStart(LocalDate processedDate) {
+    LocalDate calculatePayPeriodStart(LocalDate processedDate) {
         LocalDate payPeriodStart = processedDate.withDayOfMonth(10);
         return processedDate.getDayOfMonth() < 10 ? 
             payPeriodStart.minusMonths(1) : payPeriodStart;
     }
 
-    private LocalDate calculatePayPeriodEnd(LocalDate payPeriodStart) {
+    LocalDate calculatePayPeriodEnd(LocalDate payPeriodStart) {
         return payPeriodStart.plusMonths(1).withDayOfMonth(10);
     }
 
@@ -162,10 +291,19 @@ public class PayrollService {
             .orElseThrow(() -> new RuntimeException("Employee not found: " + employeeId));
     }
 
+    private SalaryTimeline getSalaryTimeline(Employee employee, LocalDate periodEnd) {
+        return salaryTimeline(employee, salaryRevisionRepository
+            .findByEmployeeIdAndEffectiveFromLessThanEqualOrderByEffectiveFromAsc(employee.getId(), periodEnd));
+    }
+
+    // Employees without revisions keep being paid their current basic salary
+    private SalaryTimeline salaryTimeline(Employee employee, List<SalaryRevision> revisions) {
+        long basicSalary = employee.getBasicSalary() != null ? Money.toPaise(employee.getBasicSalary()) : 0L;
+        return SalaryTimeline.of(revisions, basicSalary);
+    }
+
     private List<Attendance> getAttendances(Long employeeId, LocalDate start, LocalDate end) {
-        return attendanceRepository.findByEmployeeIdAndDateBetween(
-            employeeId, start.atStartOfDay(), end.atStartOfDay()
-        );
+        return attendanceRollupReader.read(List.of(employeeId), start, end);
     }
 
     private List<LeaveRequest> getApprovedLeaves(Long employeeId, LocalDate start, LocalDate end) {
@@ -175,110 +313,87 @@ public class PayrollService {
             );
     }
 
-    private BigDecimal calculateDailyWage(BigDecimal grossSalary, int workingDays) {
-        return grossSalary.divide(BigDecimal.valueOf(workingDays), 2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateSalaryDeduction(BigDecimal dailyWage, double totalDeductionDays) {
-        return dailyWage.multiply(BigDecimal.valueOf(totalDeductionDays));
+    private long calculateDailyWage(long grossSalary, int workingDays) {
+        return Money.divideHalfUp(grossSalary, workingDays);
     }
 
-    private BigDecimal calculateTaxDeduction(BigDecimal adjustedGrossSalary) {
-        return adjustedGrossSalary.multiply(BigDecimal.valueOf(TAX_RATE));
+    private long calculateSalaryDeduction(long dailyWage, int totalDeductionHalfDays) {
+        return Money.divideHalfUp(dailyWage * totalDeductionHalfDays, 2);
     }
 
-    private BigDecimal calculateProvidentFund(BigDecimal adjustedGrossSalary) {
-        return adjustedGrossSalary.multiply(BigDecimal.valueOf(PF_RATE));
-    }
-
-    private BigDecimal calculateESI(BigDecimal adjustedGrossSalary) {
-        return adjustedGrossSalary.multiply(BigDecimal.valueOf(ESI_RATE));
-    }
-
-    private double calculateTotalDeductionDays(
+    private int calculateTotalDeductionHalfDays(
         List<Attendance> attendances, 
         List<LeaveRequest> leaves, 
+        BitSet workingDayMask,
         LocalDate start, 
         LocalDate end
     ) {
-        return calculateUnpaidLeaveDays(leaves, start, end) + 
-               calculateUnpaidAbsenceDays(attendances, leaves, start, end);
+        return calculateUnpaidLeaveDays(leaves, workingDayMask, start, end) * 2 + 
+               calculateUnpaidAbsenceHalfDays(attendances, leaves, workingDayMask, start, end);
     }
 
-    private int calculateUnpaidLeaveDays(List<LeaveRequest> leaves, LocalDate start, LocalDate end) {
+    private int calculateUnpaidLeaveDays(List<LeaveRequest> leaves, BitSet workingDayMask, LocalDate start, LocalDate end) {
         return leaves.stream()
             .mapToInt(leave -> calculateOverlapDays(
                 leave.getStartDate(), 
                 leave.getEndDate(), 
+                workingDayMask,
                 start, 
                 end
             ))
             .sum();
     }
 
-    private double calculateUnpaidAbsenceDays(
+    private int calculateUnpaidAbsenceHalfDays(
         List<Attendance> attendances, 
         List<LeaveRequest> leaves, 
+        BitSet workingDayMask,
         LocalDate start, 
         LocalDate end
     ) {
-        return start.datesUntil(end.plusDays(1))
-            .filter(date -> !isWeekend(date))
-            .mapToDouble(date -> {
-                boolean onLeave = leaves.stream().anyMatch(leave -> 
-                    !date.isBefore(leave.getStartDate()) && 
-                    !date.isAfter(leave.getEndDate())
-                );
-
-                if (onLeave) return 0.0;
-
-                Optional<Attendance> attendance = attendances.stream()
-                    .filter(a -> a.getDate().toLocalDate().equals(date))
-                    .findFirst();
-
-                return attendance
-                    .map(a -> a.getStatus() == AttendanceStatus.ABSENT ? 1.0 : 
-                               a.getStatus() == AttendanceStatus.HALF_DAY ? 0.5 : 0.0)
-                    .orElse(1.0);
-            })
-            .sum();
+        return AttendanceDayIndex.build(
+            attendances, leaves, workingDayMask, start, end
+        ).unpaidAbsenceHalfDays();
     }
 
-    private int calculateOverlapDays(LocalDate leaveStart, LocalDate leaveEnd, LocalDate periodStart, LocalDate periodEnd) {
+    // Working days of the leave inside the period; weekly-offs and holidays are not charged
+    private int calculateOverlapDays(LocalDate leaveStart, LocalDate leaveEnd, BitSet workingDayMask,
+                                     LocalDate periodStart, LocalDate periodEnd) {
         LocalDate start = leaveStart.isBefore(periodStart) ? periodStart : leaveStart;
         LocalDate end = leaveEnd.isAfter(periodEnd) ? periodEnd : leaveEnd;
-        return start.isAfter(end) ? 0 : (int) ChronoUnit.DAYS.between(start, end) + 1;
-    }
-
-    private int calculateWorkingDays(LocalDate start, LocalDate end) {
-        return (int) start.datesUntil(end.plusDays(1))
-            .filter(date -> !isWeekend(date))
-            .count();
-    }
-
-    private boolean isWeekend(LocalDate date) {
-        DayOfWeek day = date.getDayOfWeek();
-        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        int from = (int) ChronoUnit.DAYS.between(periodStart, start);
+        int to = (int) ChronoUnit.DAYS.between(periodStart, end) + 1;
+        return workingDayMask.get(from, to).cardinality();
     }
 
     /**
      * Internal class to hold payroll calculation results
      */
     private static class PayrollCalculation {
-        final BigDecimal grossSalary;
-        final BigDecimal taxDeduction;
-        final BigDecimal providentFund;
-        final BigDecimal employeeStateInsurance;
-        final BigDecimal totalDeductions;
-        final BigDecimal netSalary;
+        // All amounts in paise
+        final long grossSalary;
+        final long taxDeduction;
+        final long providentFund;
+        final long employeeStateInsurance;
+        final long totalDeductions;
+        final long netSalary;
+        final long ytdGrossSalary;
+        final long ytdTaxDeduction;
+        final long ytdNetSalary;
 
         PayrollCalculation(
-            BigDecimal grossSalary,
-            BigDecimal taxDeduction,
-            BigDecimal providentFund,
-            BigDecimal employeeStateInsurance,
-            BigDecimal totalDeductions,
-            BigDecimal netSalary
+            long grossSalary,
+            long taxDeduction,
+            long providentFund,
+            long employeeStateInsurance,
+            long totalDeductions,
+            long netSalary,
+            long ytdGrossSalary,
+            long ytdTaxDeduction,
+            long ytdNetSalary
         ) {
             this.grossSalary = grossSalary;
             this.taxDeduction = taxDeduction;
@@ -286,26 +401,109 @@ public class PayrollService {
             this.employeeStateInsurance = employeeStateInsurance;
             this.totalDeductions = totalDeductions;
             this.netSalary = netSalary;
+            this.ytdGrossSalary = ytdGrossSalary;
+            this.ytdTaxDeduction = ytdTaxDeduction;
+            this.ytdNetSalary = ytdNetSalary;
         }
     }
 
-    public List<Payroll> getEmployeePayrolls(Long employeeId) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getEmployeePayrolls'");
+    /**
+     * Payroll history of an employee, newest pay period first
+     *
+     * @param employeeId The ID of the employee
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size Maximum number of rows in the page
+     * @return Page of payroll projections
+     */
+    public PayrollPage getEmployeePayrolls(Long employeeId, String cursor, int size) {
+        Cursor after = Cursor.parse(cursor, Cursor.LAST);
+        int limit = pageSize(size);
+        return toPage(payrollRepository.findEmployeePage(
+            employeeId, after.date, after.id, PageRequest.of(0, limit + 1)
+        ), limit, PayrollView::getPayPeriodStart);
     }
 
-    public List<Payroll> getPayrollsByPeriod(LocalDate startDate, LocalDate endDate) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getPayrollsByPeriod'");
+    /**
+     * Payrolls whose pay period starts within the given range, oldest first
+     */
+    public PayrollPage getPayrollsByPeriod(LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        Cursor after = Cursor.parse(cursor, Cursor.FIRST);
+        int limit = pageSize(size);
+        return toPage(payrollRepository.findPeriodPage(
+            startDate, endDate, after.date, after.id, PageRequest.of(0, limit + 1)
+        ), limit, PayrollView::getPayPeriodStart);
     }
 
-    public List<Payroll> getPayrollsByDepartment(String department) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getPayrollsByDepartment'");
+    /**
+     * Payrolls of a department, newest pay period first
+     */
+    public PayrollPage getPayrollsByDepartment(String department, String cursor, int size) {
+        Cursor after = Cursor.parse(cursor, Cursor.LAST);
+        int limit = pageSize(size);
+        return toPage(payrollRepository.findDepartmentPage(
+            department, after.date, after.id, PageRequest.of(0, limit + 1)
+        ), limit, PayrollView::getPayPeriodStart);
     }
 
-    public List<Payroll> getPayrollsByStatus(String status) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getPayrollsByStatus'");
+    /**
+     * Payrolls with the given status, most recently processed first
+     */
+    public PayrollPage getPayrollsByStatus(String status, String cursor, int size) {
+        Cursor after = Cursor.parse(cursor, Cursor.LAST);
+        int limit = pageSize(size);
+        return toPage(payrollRepository.findStatusPage(
+            status, after.date, after.id, PageRequest.of(0, limit + 1)
+        ), limit, PayrollView::getProcessedDate);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // One extra row is fetched to tell whether another page exists
+    private PayrollPage toPage(List<PayrollView> rows, int limit, Function<PayrollView, LocalDate> sortKey) {
+        if (rows.size() <= limit) {
+            return new PayrollPage(rows, null);
+        }
+        List<PayrollView> items = rows.subList(0, limit);
+        PayrollView last = items.get(limit - 1);
+        return new PayrollPage(items, new Cursor(sortKey.apply(last), last.getId()).toString());
+    }
+
+    /**
+     * Keyset position encoded as "sortDate~id"
+     */
+    private static class Cursor {
+        // Sentinels that sort before / after every stored row
+        static final Cursor FIRST = new Cursor(LocalDate.of(1000, 1, 1), 0L);
+        static final Cursor LAST = new Cursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+        final LocalDate date;
+        final Long id;
+
+        Cursor(LocalDate date, Long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        static Cursor parse(String cursor, Cursor start) {
+            if (cursor == null || cursor.isBlank()) {
+                return start;
+            }
+            String[] parts = cursor.split("~");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                return new Cursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return date + "~" + id;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,296 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.dto.SimulationRequest;
+import com.payroll_management_system.dto.SimulationResult;
+import com.payroll_management_system.dto.SimulationTotals;
+import com.payroll_management_system.model.Money;
+import com.payroll_management_system.statutory.CompiledStatutoryRules;
+import com.payroll_management_system.statutory.StatutoryRuleEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What-if payroll modelling across the whole organisation. Salaries and the
+ * attendance deductions of a base period are loaded once into primitive column
+ * arrays; each scenario is then a handful of tight loops over those arrays using
+ * the same statutory rules as {@link PayrollService}. Nothing is written.
+ * Tax is the flat {@link CompiledStatutoryRules#monthlyTax(long)} projection of
+ * one month's gross, not the year-to-date projection PayrollService applies, so
+ * simulated tax totals differ from real payroll once pay changed earlier in the
+ * financial year.
+ */
+@Service
+@Slf4j
+public class PayrollSimulationService {
+
+    private static final long FULL_ATTENDANCE_BPS = 10_000L;
+
+    private static final String LATEST_PERIOD_SQL = "SELECT MAX(pay_period_start) FROM payrolls";
+
+    // Gross of the base period against basic salary gives each employee's attendance factor
+    private static final String SNAPSHOT_SQL =
+        "SELECT e.basic_salary, e.designation, e.department, p.gross_salary " +
+        "FROM employees e LEFT JOIN payrolls p ON p.employee_id = e.id AND p.pay_period_start = ? " +
+        "WHERE e.status IS NULL OR e.status NOT IN ('INACTIVE', 'TERMINATED')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatutoryRuleEngine statutoryRuleEngine;
+    private final Duration snapshotTtl;
+
+    private volatile Snapshot snapshot;
+
+    public PayrollSimulationService(JdbcTemplate jdbcTemplate,
+                                    StatutoryRuleEngine statutoryRuleEngine,
+                                    @Value("${payroll.simulation.snapshot-ttl-seconds:300}") long snapshotTtlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statutoryRuleEngine = statutoryRuleEngine;
+        this.snapshotTtl = Duration.ofSeconds(snapshotTtlSeconds);
+    }
+
+    /**
+     * Run a what-if scenario against the current payroll
+     *
+     * @param request Raises per band and replacement PF rules
+     * @return Current and simulated totals, plus simulated totals per band
+     */
+    public SimulationResult simulate(SimulationRequest request) {
+        long started = System.nanoTime();
+        boolean byDepartment = "DEPARTMENT".equalsIgnoreCase(request.getBandBy());
+        Snapshot data = snapshot(request.getBasePeriodStart(), request.isRefreshSnapshot());
+
+        LocalDate rulesDate = data.basePeriodStart != null ? data.basePeriodStart : LocalDate.now();
+        CompiledStatutoryRules currentRules = statutoryRuleEngine.rulesFor(rulesDate);
+        CompiledStatutoryRules simulatedRules = simulatedRules(currentRules, request);
+
+        String[] bands = byDepartment ? data.departments : data.designations;
+        int[] bandOf = byDepartment ? data.departmentIndex : data.designationIndex;
+        long[] raiseBps = raisesPerBand(bands, request);
+
+        int n = data.basicPaise.length;
+        long[] currentGross = new long[n];
+        long[] simulatedGross = new long[n];
+
+        // Gross columns first, one sequential pass each over the primitive arrays
+        for (int i = 0; i < n; i++) {
+            currentGross[i] = Money.applyBasisPoints(data.basicPaise[i], data.attendanceBps[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            long basic = data.basicPaise[i] + Money.applyBasisPoints(data.basicPaise[i], raiseBps[bandOf[i]]);
+            simulatedGross[i] = Money.applyBasisPoints(basic, data.attendanceBps[i]);
+        }
+
+        long[] current = new long[TOTAL_COLUMNS];
+        long[] simulated = new long[TOTAL_COLUMNS];
+        long[][] perBand = new long[bands.length][TOTAL_COLUMNS];
+        int[] bandHeadcount = new int[bands.length];
+        for (int i = 0; i < n; i++) {
+            accumulate(current, currentRules, currentGross[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            accumulate(perBand[bandOf[i]], simulatedRules, simulatedGross[i]);
+            bandHeadcount[bandOf[i]]++;
+        }
+        for (long[] band : perBand) {
+            for (int c = 0; c < TOTAL_COLUMNS; c++) {
+                simulated[c] += band[c];
+            }
+        }
+
+        List<SimulationTotals> byBand = new ArrayList<>(bands.length);
+        for (int b = 0; b < bands.length; b++) {
+            byBand.add(totals(bands[b], bandHeadcount[b], perBand[b]));
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000L;
+        log.info("Payroll simulation over {} employees took {} ms", n, elapsedMillis);
+
+        return new SimulationResult(
+            data.basePeriodStart,
+            data.loadedAt,
+            currentRules.getVersion(),
+            totals(null, n, current),
+            totals(null, n, simulated),
+            byBand,
+            elapsedMillis
+        );
+    }
+
+    // Column positions of the running totals
+    private static final int GROSS = 0;
+    private static final int TAX = 1;
+    private static final int PF = 2;
+    private static final int ESI = 3;
+    private static final int NET = 4;
+    private static final int TOTAL_COLUMNS = 5;
+
+    private static void accumulate(long[] totals, CompiledStatutoryRules rules, long gross) {
+        long tax = rules.monthlyTax(gross);
+        long pf = rules.providentFund(gross);
+        long esi = rules.employeeStateInsurance(gross);
+        totals[GROSS] += gross;
+        totals[TAX] += tax;
+        totals[PF] += pf;
+        totals[ESI] += esi;
+        totals[NET] += gross - tax - pf - esi;
+    }
+
+    private static SimulationTotals totals(String band, int employees, long[] totals) {
+        return new SimulationTotals(band, employees,
+            Money.ofPaise(totals[GROSS]), Money.ofPaise(totals[TAX]), Money.ofPaise(totals[PF]),
+            Money.ofPaise(totals[ESI]), Money.ofPaise(totals[NET]));
+    }
+
+    private static CompiledStatutoryRules simulatedRules(CompiledStatutoryRules rules, SimulationRequest request) {
+        if (request.getPfRateBasisPoints() == null && request.getPfWageCeiling() == null) {
+            return rules;
+        }
+        long rate = request.getPfRateBasisPoints() != null
+            ? request.getPfRateBasisPoints()
+            : rules.getPfRateBasisPoints();
+        long ceiling = request.getPfWageCeiling() != null
+            ? Money.toPaise(request.getPfWageCeiling())
+            : rules.getPfWageCeiling();
+        return rules.withProvidentFund(rate, ceiling);
+    }
+
+    private static long[] raisesPerBand(String[] bands, SimulationRequest request) {
+        long[] raiseBps = new long[bands.length];
+        Arrays.fill(raiseBps, percentToBasisPoints(request.getDefaultRaisePercent()));
+        Map<String, BigDecimal> raises = request.getRaisePercentByBand();
+        if (raises != null) {
+            for (int b = 0; b < bands.length; b++) {
+                BigDecimal raise = raises.get(bands[b]);
+                if (raise != null) {
+                    raiseBps[b] = percentToBasisPoints(raise);
+                }
+            }
+        }
+        return raiseBps;
+    }
+
+    private static long percentToBasisPoints(BigDecimal percent) {
+        return percent == null ? 0L : percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private Snapshot snapshot(LocalDate basePeriodStart, boolean refresh) {
+        Snapshot current = snapshot;
+        LocalDate period = basePeriodStart != null ? basePeriodStart : latestPeriod();
+        if (!refresh && current != null && current.matches(period)
+                && current.loadedAt.plus(snapshotTtl).isAfter(LocalDateTime.now())) {
+            return current;
+        }
+        Snapshot loaded = loadSnapshot(period);
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private LocalDate latestPeriod() {
+        Date latest = jdbcTemplate.queryForObject(LATEST_PERIOD_SQL, Date.class);
+        return latest != null ? latest.toLocalDate() : null;
+    }
+
+    private Snapshot loadSnapshot(LocalDate basePeriodStart) {
+        long started = System.nanoTime();
+        SnapshotBuilder builder = new SnapshotBuilder();
+        jdbcTemplate.query(SNAPSHOT_SQL, rs -> {
+            BigDecimal basic = rs.getBigDecimal(1);
+            BigDecimal gross = rs.getBigDecimal(4);
+            builder.add(basic != null ? Money.toPaise(basic) : 0L,
+                gross != null ? Money.toPaise(gross) : -1L,
+                rs.getString(2), rs.getString(3));
+        }, basePeriodStart != null ? Date.valueOf(basePeriodStart) : null);
+        Snapshot loaded = builder.build(basePeriodStart);
+        log.info("Loaded payroll simulation snapshot of {} employees in {} ms",
+            loaded.basicPaise.length, (System.nanoTime() - started) / 1_000_000L);
+        return loaded;
+    }
+
+    /**
+     * Column arrays of the payable employees. Bands are dictionary encoded.
+     */
+    private static final class Snapshot {
+        private final LocalDate basePeriodStart;
+        private final LocalDateTime loadedAt;
+        private final long[] basicPaise;
+        private final long[] attendanceBps;
+        private final int[] designationIndex;
+        private final int[] departmentIndex;
+        private final String[] designations;
+        private final String[] departments;
+
+        private Snapshot(LocalDate basePeriodStart, long[] basicPaise, long[] attendanceBps,
+                         int[] designationIndex, int[] departmentIndex,
+                         String[] designations, String[] departments) {
+            this.basePeriodStart = basePeriodStart;
+            this.loadedAt = LocalDateTime.now();
+            this.basicPaise = basicPaise;
+            this.attendanceBps = attendanceBps;
+            this.designationIndex = designationIndex;
+            this.departmentIndex = departmentIndex;
+            this.designations = designations;
+            this.departments = departments;
+        }
+
+        private boolean matches(LocalDate period) {
+            return period == null ? basePeriodStart == null : period.equals(basePeriodStart);
+        }
+    }
+
+    private static final class SnapshotBuilder {
+        private long[] basicPaise = new long[1024];
+        private long[] attendanceBps = new long[1024];
+        private int[] designationIndex = new int[1024];
+        private int[] departmentIndex = new int[1024];
+        private final Map<String, Integer> designations = new HashMap<>();
+        private final Map<String, Integer> departments = new HashMap<>();
+        private int size;
+
+        void add(long basic, long lastGross, String designation, String department) {
+            if (size == basicPaise.length) {
+                int capacity = size * 2;
+                basicPaise = Arrays.copyOf(basicPaise, capacity);
+                attendanceBps = Arrays.copyOf(attendanceBps, capacity);
+                designationIndex = Arrays.copyOf(designationIndex, capacity);
+                departmentIndex = Arrays.copyOf(departmentIndex, capacity);
+            }
+            basicPaise[size] = basic;
+            // Share of basic salary actually paid last period; full pay when unknown
+            attendanceBps[size] = lastGross < 0 || basic <= 0
+                ? FULL_ATTENDANCE_BPS
+                : Math.min(FULL_ATTENDANCE_BPS, Money.divideHalfUp(lastGross * FULL_ATTENDANCE_BPS, basic));
+            designationIndex[size] = designations.computeIfAbsent(bandName(designation), k -> designations.size());
+            departmentIndex[size] = departments.computeIfAbsent(bandName(department), k -> departments.size());
+            size++;
+        }
+
+        Snapshot build(LocalDate basePeriodStart) {
+            return new Snapshot(basePeriodStart,
+                Arrays.copyOf(basicPaise, size), Arrays.copyOf(attendanceBps, size),
+                Arrays.copyOf(designationIndex, size), Arrays.copyOf(departmentIndex, size),
+                dictionary(designations), dictionary(departments));
+        }
+
+        private static String bandName(String value) {
+            return value != null ? value : PayrollDepartmentSummaryService.UNASSIGNED;
+        }
+
+        private static String[] dictionary(Map<String, Integer> codes) {
+            String[] names = new String[codes.size()];
+            codes.forEach((name, code) -> names[code] = name);
+            return names;
+        }
+    }
+}
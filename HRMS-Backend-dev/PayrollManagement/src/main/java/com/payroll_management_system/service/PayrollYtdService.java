@@ -0,0 +1,221 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Money;
+import com.payroll_management_system.model.Payroll;
+import com.payroll_management_system.model.PayrollYtd;
+import com.payroll_management_system.repository.PayrollYtdRepository;
+import com.payroll_management_system.statutory.FinancialYear;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the year-to-date payroll accumulators. Every payroll write adds the
+ * difference it makes to the employee's totals with a single upsert, inside the
+ * transaction that writes the payroll itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollYtdService {
+
+    private static final String ADD_DELTA_SQL =
+        "INSERT INTO payroll_ytd (employee_id, financial_year, gross_salary, tax_deduction, provident_fund, " +
+        "employee_state_insurance, total_deductions, net_salary, payroll_count, latest_pay_period_start, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+        "gross_salary = gross_salary + VALUES(gross_salary), " +
+        "tax_deduction = tax_deduction + VALUES(tax_deduction), " +
+        "provident_fund = provident_fund + VALUES(provident_fund), " +
+        "employee_state_insurance = employee_state_insurance + VALUES(employee_state_insurance), " +
+        "total_deductions = total_deductions + VALUES(total_deductions), " +
+        "net_salary = net_salary + VALUES(net_salary), " +
+        "payroll_count = payroll_count + VALUES(payroll_count), " +
+        "latest_pay_period_start = GREATEST(COALESCE(latest_pay_period_start, VALUES(latest_pay_period_start)), " +
+        "VALUES(latest_pay_period_start)), " +
+        "updated_at = VALUES(updated_at)";
+
+    private static final String DELETE_YEAR_SQL = "DELETE FROM payroll_ytd WHERE financial_year = ?";
+
+    private static final String REBUILD_YEAR_SQL =
+        "INSERT INTO payroll_ytd (employee_id, financial_year, gross_salary, tax_deduction, provident_fund, " +
+        "employee_state_insurance, total_deductions, net_salary, payroll_count, latest_pay_period_start, updated_at) " +
+        "SELECT employee_id, ?, SUM(gross_salary), SUM(tax_deduction), SUM(provident_fund), " +
+        "SUM(employee_state_insurance), SUM(total_deductions), SUM(net_salary), COUNT(*), MAX(pay_period_start), ? " +
+        "FROM payrolls WHERE pay_period_start BETWEEN ? AND ? GROUP BY employee_id";
+
+    // Only for periods the running totals have moved past, e.g. an earlier month being recalculated
+    private static final String PRIOR_TOTALS_SQL =
+        "SELECT COALESCE(SUM(gross_salary), 0), COALESCE(SUM(tax_deduction), 0), COALESCE(SUM(net_salary), 0) " +
+        "FROM payrolls WHERE employee_id = ? AND pay_period_start >= ? AND pay_period_start < ?";
+
+    private static final String PAYROLL_YEARS_SQL =
+        "SELECT MIN(pay_period_start), MAX(pay_period_start) FROM payrolls";
+
+    private final PayrollYtdRepository payrollYtdRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<PayrollYtd> getYtd(Long employeeId, int financialYear) {
+        return payrollYtdRepository.findByEmployeeIdAndFinancialYear(employeeId, financialYear);
+    }
+
+    /**
+     * Totals of the employee's payrolls earlier in the financial year than a pay period
+     *
+     * @param payPeriodStart Start of the pay period being calculated
+     * @param currentAmounts Amounts of the period's existing payroll from {@link PayrollAmounts#of},
+     *        or null when the period has not been paid yet
+     */
+    public PriorTotals priorTotals(Long employeeId, LocalDate payPeriodStart, long[] currentAmounts) {
+        PayrollYtd ytd = getYtd(employeeId, FinancialYear.of(payPeriodStart)).orElse(null);
+        return priorTotals(employeeId, ytd, payPeriodStart, currentAmounts);
+    }
+
+    /**
+     * Totals before a pay period for a chunk of employees none of which has been paid for it yet
+     */
+    public Map<Long, PriorTotals> priorTotals(Collection<Long> employeeIds, LocalDate payPeriodStart) {
+        Map<Long, PayrollYtd> ytdByEmployee = new HashMap<>();
+        for (PayrollYtd ytd : payrollYtdRepository.findByEmployeeIdInAndFinancialYear(
+                employeeIds, FinancialYear.of(payPeriodStart))) {
+            ytdByEmployee.put(ytd.getEmployeeId(), ytd);
+        }
+        Map<Long, PriorTotals> totals = new HashMap<>();
+        for (Long employeeId : employeeIds) {
+            totals.put(employeeId, priorTotals(employeeId, ytdByEmployee.get(employeeId), payPeriodStart, null));
+        }
+        return totals;
+    }
+
+    // The running totals answer directly unless a later period of the year is already in them
+    private PriorTotals priorTotals(Long employeeId, PayrollYtd ytd, LocalDate payPeriodStart, long[] currentAmounts) {
+        if (ytd == null) {
+            return PriorTotals.NONE;
+        }
+        LocalDate latest = ytd.getLatestPayPeriodStart();
+        if (latest != null && latest.isBefore(payPeriodStart)) {
+            return new PriorTotals(paise(ytd.getGrossSalary()), paise(ytd.getTaxDeduction()), paise(ytd.getNetSalary()));
+        }
+        if (latest != null && latest.equals(payPeriodStart) && currentAmounts != null) {
+            return new PriorTotals(
+                paise(ytd.getGrossSalary()) - currentAmounts[PayrollAmounts.GROSS],
+                paise(ytd.getTaxDeduction()) - currentAmounts[PayrollAmounts.TAX],
+                paise(ytd.getNetSalary()) - currentAmounts[PayrollAmounts.NET]);
+        }
+        return jdbcTemplate.queryForObject(PRIOR_TOTALS_SQL, (rs, rowNum) -> new PriorTotals(
+                Money.toPaise(rs.getBigDecimal(1)), Money.toPaise(rs.getBigDecimal(2)), Money.toPaise(rs.getBigDecimal(3))),
+            employeeId,
+            Date.valueOf(FinancialYear.start(FinancialYear.of(payPeriodStart))),
+            Date.valueOf(payPeriodStart));
+    }
+
+    private static long paise(Money money) {
+        return money == null ? 0L : money.getPaise();
+    }
+
+    /**
+     * Add a newly created payroll to the YTD totals
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNew(Payroll payroll) {
+        jdbcTemplate.update(ADD_DELTA_SQL, deltaArgs(payroll, null));
+    }
+
+    /**
+     * Apply the change of a recalculated payroll to the YTD totals
+     *
+     * @param payroll The payroll after recalculation
+     * @param previousAmounts Its amounts before recalculation, from {@link PayrollAmounts#of}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRecalculation(Payroll payroll, long[] previousAmounts) {
+        jdbcTemplate.update(ADD_DELTA_SQL, deltaArgs(payroll, previousAmounts));
+    }
+
+    /**
+     * Add a chunk of newly created payrolls to the YTD totals with one batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNew(List<Payroll> payrolls) {
+        if (payrolls.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_DELTA_SQL, payrolls.stream().map(p -> deltaArgs(p, null)).toList());
+    }
+
+    /**
+     * Rebuild the YTD totals of one financial year from payroll history
+     *
+     * @return Number of employees with totals for the year
+     */
+    @Transactional
+    public int rebuild(int financialYear) {
+        jdbcTemplate.update(DELETE_YEAR_SQL, financialYear);
+        int rows = jdbcTemplate.update(REBUILD_YEAR_SQL,
+            financialYear,
+            Timestamp.valueOf(LocalDateTime.now()),
+            Date.valueOf(FinancialYear.start(financialYear)),
+            Date.valueOf(FinancialYear.end(financialYear)));
+        log.info("Rebuilt payroll YTD for financial year {}: {} employees", financialYear, rows);
+        return rows;
+    }
+
+    /**
+     * Rebuild the YTD totals of every financial year that has payrolls
+     *
+     * @return Number of financial years rebuilt
+     */
+    @Transactional
+    public int rebuildAll() {
+        int[] range = jdbcTemplate.queryForObject(PAYROLL_YEARS_SQL, (rs, rowNum) -> {
+            Date first = rs.getDate(1);
+            Date last = rs.getDate(2);
+            return first == null ? null : new int[] {
+                FinancialYear.of(first.toLocalDate()), FinancialYear.of(last.toLocalDate())
+            };
+        });
+        if (range == null) {
+            return 0;
+        }
+        for (int year = range[0]; year <= range[1]; year++) {
+            rebuild(year);
+        }
+        return range[1] - range[0] + 1;
+    }
+
+    private static Object[] deltaArgs(Payroll payroll, long[] previousAmounts) {
+        long[] amounts = PayrollAmounts.delta(payroll, previousAmounts);
+        return new Object[] {
+            payroll.getEmployeeId(),
+            FinancialYear.of(payroll.getPayPeriodStart()),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.GROSS),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.TAX),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.PF),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.ESI),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.TOTAL_DEDUCTIONS),
+            PayrollAmounts.decimal(amounts, PayrollAmounts.NET),
+            previousAmounts == null ? 1 : 0,
+            Date.valueOf(payroll.getPayPeriodStart()),
+            Timestamp.valueOf(LocalDateTime.now())
+        };
+    }
+
+    /**
+     * Gross, tax and net paid earlier in a financial year, in paise
+     */
+    public record PriorTotals(long grossSalary, long taxDeduction, long netSalary) {
+        public static final PriorTotals NONE = new PriorTotals(0L, 0L, 0L);
+    }
+}
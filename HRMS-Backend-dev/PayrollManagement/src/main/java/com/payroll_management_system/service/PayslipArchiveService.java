@@ -0,0 +1,121 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.dto.PayslipRow;
+import com.payroll_management_system.repository.PayrollRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the payslips of a pay period as a ZIP archive. Payrolls are read through
+ * a streaming cursor and rendered on a small pool; at most a fixed window of
+ * payslips is held in memory, and entries are written in cursor order.
+ */
+@Service
+@Slf4j
+public class PayslipArchiveService {
+
+    private final PayrollRepository payrollRepository;
+    private final PayslipRenderer payslipRenderer;
+    private final ThreadPoolTaskExecutor renderExecutor;
+    private final int window;
+
+    public PayslipArchiveService(PayrollRepository payrollRepository,
+                                 PayslipRenderer payslipRenderer,
+                                 @Qualifier("payslipRenderExecutor") ThreadPoolTaskExecutor renderExecutor,
+                                 @Value("${payroll.payslip.render-window:16}") int window) {
+        this.payrollRepository = payrollRepository;
+        this.payslipRenderer = payslipRenderer;
+        this.renderExecutor = renderExecutor;
+        this.window = window;
+    }
+
+    public boolean hasPayslips(LocalDate payPeriodStart) {
+        return payrollRepository.existsByPayPeriodStart(payPeriodStart);
+    }
+
+    /**
+     * Stream every payslip of the pay period into a ZIP archive
+     *
+     * @param payPeriodStart Start of the pay period
+     * @param out Destination, typically the HTTP response body
+     * @return Number of payslips written
+     */
+    @Transactional(readOnly = true)
+    public int writeArchive(LocalDate payPeriodStart, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF content streams are already compressed
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        Deque<Future<RenderedPayslip>> inFlight = new ArrayDeque<>(window);
+        int written = 0;
+        try (Stream<PayslipRow> rows = payrollRepository.streamPayslips(payPeriodStart)) {
+            Iterator<PayslipRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                PayslipRow row = iterator.next();
+                inFlight.addLast(renderExecutor.submit(
+                    () -> new RenderedPayslip(entryName(row), payslipRenderer.render(row))));
+                if (inFlight.size() >= window) {
+                    writeEntry(zip, inFlight.removeFirst());
+                    written++;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeEntry(zip, inFlight.removeFirst());
+                written++;
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        zip.finish();
+        log.info("Wrote {} payslips for pay period starting {}", written, payPeriodStart);
+        return written;
+    }
+
+    private static void writeEntry(ZipOutputStream zip, Future<RenderedPayslip> future) throws IOException {
+        RenderedPayslip payslip;
+        try {
+            payslip = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Payslip archive interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Payslip rendering failed", e.getCause());
+        }
+        zip.putNextEntry(new ZipEntry(payslip.name));
+        zip.write(payslip.pdf);
+        zip.closeEntry();
+    }
+
+    private static String entryName(PayslipRow row) {
+        // Employee codes are nullable; the payroll id keeps entry names unique
+        String owner = row.getEmployeeCode() != null ? String.valueOf(row.getEmployeeCode()) : "payroll-" + row.getPayrollId();
+        return "payslip-" + owner + "-" + row.getPayPeriodStart() + ".pdf";
+    }
+
+    private static final class RenderedPayslip {
+        private final String name;
+        private final byte[] pdf;
+
+        private RenderedPayslip(String name, byte[] pdf) {
+            this.name = name;
+            this.pdf = pdf;
+        }
+    }
+}
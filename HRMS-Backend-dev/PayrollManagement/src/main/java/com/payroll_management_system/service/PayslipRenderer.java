@@ -0,0 +1,123 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.dto.PayslipRow;
+import com.payroll_management_system.model.Money;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders a single-page payslip PDF. Layout is fixed, and each rendering thread
+ * keeps its own fonts, so a payslip costs one small document and nothing else.
+ */
+@Component
+public class PayslipRenderer {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    private static final float MARGIN = 56f;
+    private static final float TOP = PDRectangle.A4.getHeight() - 72f;
+    private static final float LINE_HEIGHT = 18f;
+    private static final float AMOUNT_X = 380f;
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private static final String[] EMPLOYEE_LABELS = {"Employee", "Employee ID", "Department", "Designation"};
+    private static final String[] AMOUNT_LABELS = {
+        "Gross salary", "Income tax", "Provident fund", "Employee state insurance", "Total deductions"
+    };
+    private static final String[] YTD_LABELS = {"Gross salary", "Income tax", "Net pay"};
+
+    // PDFBox fonts are not shared between threads
+    private final ThreadLocal<Fonts> fonts = ThreadLocal.withInitial(Fonts::new);
+
+    public byte[] render(PayslipRow row) throws IOException {
+        Fonts f = fonts.get();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                float y = TOP;
+                text(content, f.bold, 16, MARGIN, y, "Payslip");
+                y -= LINE_HEIGHT;
+                text(content, f.regular, 10, MARGIN, y, "Pay period: " + row.getPayPeriodStart().format(DATE_FORMAT)
+                    + " to " + row.getPayPeriodEnd().format(DATE_FORMAT));
+                y -= LINE_HEIGHT * 2;
+
+                String[] employeeValues = {
+                    row.getFullName(), String.valueOf(row.getEmployeeCode()), row.getDepartment(), row.getDesignation()
+                };
+                for (int i = 0; i < EMPLOYEE_LABELS.length; i++) {
+                    text(content, f.bold, 10, MARGIN, y, EMPLOYEE_LABELS[i]);
+                    text(content, f.regular, 10, MARGIN + 120f, y, employeeValues[i]);
+                    y -= LINE_HEIGHT;
+                }
+                y -= LINE_HEIGHT;
+
+                Money[] amounts = {
+                    row.getGrossSalary(), row.getTaxDeduction(), row.getProvidentFund(),
+                    row.getEmployeeStateInsurance(), row.getTotalDeductions()
+                };
+                for (int i = 0; i < AMOUNT_LABELS.length; i++) {
+                    text(content, f.regular, 10, MARGIN, y, AMOUNT_LABELS[i]);
+                    text(content, f.regular, 10, AMOUNT_X, y, amount(amounts[i]));
+                    y -= LINE_HEIGHT;
+                }
+                y -= LINE_HEIGHT / 2;
+                text(content, f.bold, 12, MARGIN, y, "Net pay");
+                text(content, f.bold, 12, AMOUNT_X, y, amount(row.getNetSalary()));
+                y -= LINE_HEIGHT * 2;
+
+                text(content, f.bold, 10, MARGIN, y, "Financial year to date");
+                y -= LINE_HEIGHT;
+                Money[] ytdAmounts = {row.getYtdGrossSalary(), row.getYtdTaxDeduction(), row.getYtdNetSalary()};
+                for (int i = 0; i < YTD_LABELS.length; i++) {
+                    text(content, f.regular, 10, MARGIN, y, YTD_LABELS[i]);
+                    text(content, f.regular, 10, AMOUNT_X, y, amount(ytdAmounts[i]));
+                    y -= LINE_HEIGHT;
+                }
+            }
+            document.save(out);
+        }
+        return out.toByteArray();
+    }
+
+    private static void text(PDPageContentStream content, PDType1Font font, float size, float x, float y, String value)
+            throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(printable(value));
+        content.endText();
+    }
+
+    private static String amount(Money money) {
+        return money == null ? "-" : money.toBigDecimal().toPlainString();
+    }
+
+    // Standard fonts only encode Latin-1; anything else would make showText fail
+    private static String printable(String value) {
+        if (value == null || value.isEmpty()) {
+            return "-";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            sb.append(c >= 0x20 && c <= 0xFF ? c : '?');
+        }
+        return sb.toString();
+    }
+
+    private static final class Fonts {
+        private final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        private final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    }
+}
@@ -0,0 +1,86 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Money;
+import com.payroll_management_system.model.SalaryRevision;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Effective-dated basic salary of one employee as two parallel sorted arrays, so
+ * the salary on a date is a binary search and a pay period is prorated in one
+ * pass over the revisions inside it.
+ */
+final class SalaryTimeline {
+
+    private final long[] effectiveEpochDays;
+    private final long[] salaryPaise;
+
+    private SalaryTimeline(long[] effectiveEpochDays, long[] salaryPaise) {
+        this.effectiveEpochDays = effectiveEpochDays;
+        this.salaryPaise = salaryPaise;
+    }
+
+    /**
+     * @param revisions Revisions of one employee ordered by effective date
+     * @param fallbackPaise Salary used when the employee has no revisions
+     */
+    static SalaryTimeline of(List<SalaryRevision> revisions, long fallbackPaise) {
+        if (revisions.isEmpty()) {
+            return new SalaryTimeline(new long[] {Long.MIN_VALUE}, new long[] {fallbackPaise});
+        }
+        long[] days = new long[revisions.size()];
+        long[] salaries = new long[revisions.size()];
+        for (int i = 0; i < revisions.size(); i++) {
+            SalaryRevision revision = revisions.get(i);
+            days[i] = revision.getEffectiveFrom().toEpochDay();
+            salaries[i] = Money.toPaise(revision.getBasicSalary());
+        }
+        return new SalaryTimeline(days, salaries);
+    }
+
+    /**
+     * Salary in effect on a date; dates before the first revision use the first revision
+     */
+    long salaryOn(LocalDate date) {
+        return salaryPaise[indexOn(date.toEpochDay())];
+    }
+
+    /**
+     * Salary for a pay period, prorated by working days across the revisions in it
+     *
+     * @param workingDayMask Working days of the period, bit 0 being the start date
+     * @param start Start of the pay period
+     * @param totalWorkingDays Number of set bits in the mask
+     */
+    long prorate(BitSet workingDayMask, LocalDate start, int totalWorkingDays) {
+        long startDay = start.toEpochDay();
+        int index = indexOn(startDay);
+        if (totalWorkingDays == 0 || index == salaryPaise.length - 1
+                || effectiveEpochDays[index + 1] - startDay >= workingDayMask.length()) {
+            // No revision takes effect inside the period
+            return salaryPaise[index];
+        }
+
+        long total = 0L;
+        int segmentStart = 0;
+        while (segmentStart < workingDayMask.length()) {
+            int segmentEnd = index + 1 < salaryPaise.length
+                ? (int) Math.min(effectiveEpochDays[index + 1] - startDay, workingDayMask.length())
+                : workingDayMask.length();
+            int days = workingDayMask.get(segmentStart, segmentEnd).cardinality();
+            total += Money.divideHalfUp(Math.multiplyExact(salaryPaise[index], (long) days), totalWorkingDays);
+            segmentStart = segmentEnd;
+            index++;
+        }
+        return total;
+    }
+
+    private int indexOn(long epochDay) {
+        int found = Arrays.binarySearch(effectiveEpochDays, epochDay);
+        int index = found >= 0 ? found : -found - 2;
+        return Math.max(index, 0);
+    }
+}
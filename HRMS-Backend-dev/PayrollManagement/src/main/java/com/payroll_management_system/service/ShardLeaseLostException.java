@@ -0,0 +1,11 @@
+package com.payroll_management_system.service;
+
+/**
+ * Thrown when a node writes to a run shard whose lease another node has taken over.
+ */
+public class ShardLeaseLostException extends IllegalStateException {
+
+    public ShardLeaseLostException(String message) {
+        super(message);
+    }
+}
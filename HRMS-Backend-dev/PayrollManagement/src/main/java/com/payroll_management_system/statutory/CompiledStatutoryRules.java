@@ -0,0 +1,149 @@
+package com.payroll_management_system.statutory;
+
+import com.payroll_management_system.model.Money;
+
+import java.util.Arrays;
+
+/**
+ * Immutable lookup tables for one financial year and tax regime. All amounts
+ * are in paise; evaluation is a binary search over the slab boundaries plus a
+ * few multiplications and does not allocate.
+ */
+public final class CompiledStatutoryRules {
+
+    private static final int MONTHS = 12;
+
+    private final String version;
+    private final int financialYear;
+    private final String regime;
+
+    // Tax slabs: slabFrom[i] is the lower bound of slab i, slabTaxBefore[i] the
+    // tax due on all income below it
+    private final long[] slabFrom;
+    private final long[] slabRate;
+    private final long[] slabTaxBefore;
+    private final long standardDeduction;
+    private final long rebateLimit;
+    private final long maxRebate;
+    private final long cessBasisPoints;
+
+    private final long pfRateBasisPoints;
+    private final long pfWageCeiling;
+    private final long esiRateBasisPoints;
+    private final long esiWageThreshold;
+
+    CompiledStatutoryRules(String version, int financialYear, String regime,
+                           long[] slabFrom, long[] slabRate,
+                           long standardDeduction, long rebateLimit, long maxRebate, long cessBasisPoints,
+                           long pfRateBasisPoints, long pfWageCeiling,
+                           long esiRateBasisPoints, long esiWageThreshold) {
+        this.version = version;
+        this.financialYear = financialYear;
+        this.regime = regime;
+        this.slabFrom = slabFrom.clone();
+        this.slabRate = slabRate.clone();
+        this.slabTaxBefore = new long[slabFrom.length];
+        for (int i = 1; i < slabFrom.length; i++) {
+            slabTaxBefore[i] = slabTaxBefore[i - 1]
+                + Money.applyBasisPoints(slabFrom[i] - slabFrom[i - 1], slabRate[i - 1]);
+        }
+        this.standardDeduction = standardDeduction;
+        this.rebateLimit = rebateLimit;
+        this.maxRebate = maxRebate;
+        this.cessBasisPoints = cessBasisPoints;
+        this.pfRateBasisPoints = pfRateBasisPoints;
+        this.pfWageCeiling = pfWageCeiling;
+        this.esiRateBasisPoints = esiRateBasisPoints;
+        this.esiWageThreshold = esiWageThreshold;
+    }
+
+    /**
+     * Yearly income tax including cess on a taxable income, in paise
+     */
+    public long annualTax(long taxableIncome) {
+        if (taxableIncome <= 0 || slabFrom.length == 0) {
+            return 0L;
+        }
+        int found = Arrays.binarySearch(slabFrom, taxableIncome);
+        int slab = found >= 0 ? found : -found - 2;
+        if (slab < 0) {
+            return 0L;
+        }
+        long tax = slabTaxBefore[slab]
+            + Money.applyBasisPoints(taxableIncome - slabFrom[slab], slabRate[slab]);
+        if (taxableIncome <= rebateLimit) {
+            tax = Math.max(0L, tax - maxRebate);
+        }
+        return tax + Money.applyBasisPoints(tax, cessBasisPoints);
+    }
+
+    /**
+     * Monthly tax withholding for a monthly gross salary, projected over a year
+     */
+    public long monthlyTax(long monthlyGross) {
+        return monthlyTax(monthlyGross, 0L, 0L, MONTHS);
+    }
+
+    /**
+     * Monthly tax withholding once part of the year has been paid: the year's
+     * income is what was earned so far plus this month's gross for every month
+     * left, and the tax still owed on it is spread over those months
+     *
+     * @param ytdGross Gross paid earlier in the financial year, in paise
+     * @param ytdTax Tax withheld earlier in the financial year, in paise
+     * @param monthsRemaining Months left in the financial year, this one included
+     */
+    public long monthlyTax(long monthlyGross, long ytdGross, long ytdTax, int monthsRemaining) {
+        int months = Math.max(1, monthsRemaining);
+        long taxableIncome = ytdGross + monthlyGross * months - standardDeduction;
+        long taxDue = Math.max(0L, annualTax(taxableIncome) - ytdTax);
+        return Money.divideHalfUp(taxDue, months);
+    }
+
+    /**
+     * Employee PF contribution on the monthly wage, capped at the wage ceiling
+     */
+    public long providentFund(long monthlyWage) {
+        long pfWage = pfWageCeiling > 0 ? Math.min(monthlyWage, pfWageCeiling) : monthlyWage;
+        return Money.applyBasisPoints(Math.max(0L, pfWage), pfRateBasisPoints);
+    }
+
+    /**
+     * Employee ESI contribution; zero once the monthly wage exceeds the threshold
+     */
+    public long employeeStateInsurance(long monthlyWage) {
+        if (monthlyWage <= 0 || (esiWageThreshold > 0 && monthlyWage > esiWageThreshold)) {
+            return 0L;
+        }
+        return Money.applyBasisPoints(monthlyWage, esiRateBasisPoints);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getFinancialYear() {
+        return financialYear;
+    }
+
+    public String getRegime() {
+        return regime;
+    }
+
+    public long getPfRateBasisPoints() {
+        return pfRateBasisPoints;
+    }
+
+    public long getPfWageCeiling() {
+        return pfWageCeiling;
+    }
+
+    /**
+     * Copy with a different PF rate and ceiling, used for what-if modelling
+     */
+    public CompiledStatutoryRules withProvidentFund(long rateBasisPoints, long wageCeiling) {
+        return new CompiledStatutoryRules(version, financialYear, regime, slabFrom, slabRate,
+            standardDeduction, rebateLimit, maxRebate, cessBasisPoints,
+            rateBasisPoints, wageCeiling, esiRateBasisPoints, esiWageThreshold);
+    }
+}
@@ -0,0 +1,33 @@
+package com.payroll_management_system.statutory;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * Indian financial years run from 1 April to 31 March and are identified here
+ * by the calendar year in which they start.
+ */
+public final class FinancialYear {
+
+    private FinancialYear() {
+    }
+
+    public static int of(LocalDate date) {
+        return date.getMonthValue() >= Month.APRIL.getValue() ? date.getYear() : date.getYear() - 1;
+    }
+
+    public static LocalDate start(int financialYear) {
+        return LocalDate.of(financialYear, Month.APRIL, 1);
+    }
+
+    public static LocalDate end(int financialYear) {
+        return LocalDate.of(financialYear + 1, Month.MARCH, 31);
+    }
+
+    /**
+     * Months left in the financial year of a date, counting the date's own month
+     */
+    public static int monthsRemaining(LocalDate date) {
+        return 12 - Math.floorMod(date.getMonthValue() - Month.APRIL.getValue(), 12);
+    }
+}
@@ -0,0 +1,55 @@
+package com.payroll_management_system.statutory;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned statutory rule configuration as read from JSON. Amounts are yearly
+ * figures in rupees except the PF and ESI wage limits, which are monthly.
+ */
+@Data
+public class StatutoryRuleDocument {
+    private String version;
+    private List<FinancialYearRules> financialYears = new ArrayList<>();
+
+    @Data
+    public static class FinancialYearRules {
+        private int financialYear; // Calendar year in which the financial year starts (April)
+        private String defaultRegime;
+        private Map<String, TaxRegime> regimes = new HashMap<>();
+        private ProvidentFund providentFund;
+        private EmployeeStateInsurance employeeStateInsurance;
+    }
+
+    @Data
+    public static class TaxRegime {
+        private BigDecimal standardDeduction = BigDecimal.ZERO;
+        private BigDecimal rebateLimit = BigDecimal.ZERO;
+        private BigDecimal maxRebate = BigDecimal.ZERO;
+        private long cessBasisPoints;
+        private List<TaxSlab> slabs = new ArrayList<>();
+    }
+
+    @Data
+    public static class TaxSlab {
+        private BigDecimal from;
+        private long rateBasisPoints;
+    }
+
+    @Data
+    public static class ProvidentFund {
+        private long rateBasisPoints;
+        private BigDecimal wageCeiling; // Null or zero means no ceiling
+    }
+
+    @Data
+    public static class EmployeeStateInsurance {
+        private long rateBasisPoints;
+        private BigDecimal wageThreshold; // Only wages up to this amount are covered
+    }
+}
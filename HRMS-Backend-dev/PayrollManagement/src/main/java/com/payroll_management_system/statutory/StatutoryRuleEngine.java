@@ -0,0 +1,140 @@
+package com.payroll_management_system.statutory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payroll_management_system.model.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Loads the versioned statutory rule document once and compiles each financial
+ * year and regime into {@link CompiledStatutoryRules}. All tables are compiled
+ * up front and published together, so an org-wide run never re-parses or
+ * re-queries rules per employee and never mixes tables of two documents.
+ */
+@Service
+@Slf4j
+public class StatutoryRuleEngine {
+
+    private final Resource rulesResource;
+    private final ObjectMapper objectMapper;
+
+    // Replaced as a whole on reload; readers take one consistent snapshot
+    private volatile Rules rules = new Rules(null, new TreeMap<>(), Map.of());
+
+    public StatutoryRuleEngine(@Value("${payroll.statutory.rules-location:classpath:statutory-rules.json}") Resource rulesResource,
+                               ObjectMapper objectMapper) {
+        this.rulesResource = rulesResource;
+        this.objectMapper = objectMapper;
+        reload();
+    }
+
+    /**
+     * Rules of the default regime for the financial year containing the date
+     */
+    public CompiledStatutoryRules rulesFor(LocalDate date) {
+        return rulesFor(FinancialYear.of(date), null);
+    }
+
+    /**
+     * Rules for a financial year and regime. Years newer than the configuration
+     * fall back to the latest configured year.
+     */
+    public CompiledStatutoryRules rulesFor(int financialYear, String regime) {
+        Rules current = rules;
+        Map.Entry<Integer, StatutoryRuleDocument.FinancialYearRules> entry = current.yearRules().floorEntry(financialYear);
+        if (entry == null) {
+            throw new IllegalStateException("No statutory rules configured for financial year " + financialYear);
+        }
+        String regimeName = regime != null ? regime : entry.getValue().getDefaultRegime();
+        CompiledStatutoryRules compiled = current.compiled().get(entry.getKey() + ":" + regimeName);
+        if (compiled == null) {
+            throw new IllegalStateException("Tax regime " + regimeName + " is not configured for financial year "
+                + entry.getKey());
+        }
+        return compiled;
+    }
+
+    public String getVersion() {
+        return rules.version();
+    }
+
+    /**
+     * Re-read the rule document, compile every year and regime, and swap them in
+     */
+    public synchronized void reload() {
+        StatutoryRuleDocument document;
+        try (InputStream in = rulesResource.getInputStream()) {
+            document = objectMapper.readValue(in, StatutoryRuleDocument.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load statutory rules from " + rulesResource, e);
+        }
+
+        NavigableMap<Integer, StatutoryRuleDocument.FinancialYearRules> byYear = new TreeMap<>();
+        Map<String, CompiledStatutoryRules> compiled = new HashMap<>();
+        for (StatutoryRuleDocument.FinancialYearRules yearRules : document.getFinancialYears()) {
+            byYear.put(yearRules.getFinancialYear(), yearRules);
+            for (String regimeName : yearRules.getRegimes().keySet()) {
+                compiled.put(yearRules.getFinancialYear() + ":" + regimeName,
+                    compile(document.getVersion(), yearRules, regimeName));
+            }
+        }
+        rules = new Rules(document.getVersion(), Collections.unmodifiableNavigableMap(byYear), Map.copyOf(compiled));
+        log.info("Loaded statutory rules version {} for financial years {}", document.getVersion(), byYear.keySet());
+    }
+
+    private CompiledStatutoryRules compile(String version, StatutoryRuleDocument.FinancialYearRules rules,
+                                           String regimeName) {
+        StatutoryRuleDocument.TaxRegime regime = rules.getRegimes().get(regimeName);
+
+        List<StatutoryRuleDocument.TaxSlab> slabs = regime.getSlabs().stream()
+            .sorted(Comparator.comparing(StatutoryRuleDocument.TaxSlab::getFrom))
+            .toList();
+        long[] slabFrom = new long[slabs.size()];
+        long[] slabRate = new long[slabs.size()];
+        for (int i = 0; i < slabs.size(); i++) {
+            slabFrom[i] = paise(slabs.get(i).getFrom());
+            slabRate[i] = slabs.get(i).getRateBasisPoints();
+        }
+
+        StatutoryRuleDocument.ProvidentFund pf = rules.getProvidentFund();
+        StatutoryRuleDocument.EmployeeStateInsurance esi = rules.getEmployeeStateInsurance();
+        return new CompiledStatutoryRules(
+            version,
+            rules.getFinancialYear(),
+            regimeName,
+            slabFrom,
+            slabRate,
+            paise(regime.getStandardDeduction()),
+            paise(regime.getRebateLimit()),
+            paise(regime.getMaxRebate()),
+            regime.getCessBasisPoints(),
+            pf != null ? pf.getRateBasisPoints() : 0L,
+            pf != null ? paise(pf.getWageCeiling()) : 0L,
+            esi != null ? esi.getRateBasisPoints() : 0L,
+            esi != null ? paise(esi.getWageThreshold()) : 0L
+        );
+    }
+
+    private static long paise(BigDecimal amount) {
+        return amount != null ? Money.toPaise(amount) : 0L;
+    }
+
+    private record Rules(String version,
+                         NavigableMap<Integer, StatutoryRuleDocument.FinancialYearRules> yearRules,
+                         Map<String, CompiledStatutoryRules> compiled) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.payroll_management_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void divideHalfUpRoundsTiesAwayFromZero() {
+        assertThat(Money.divideHalfUp(5, 2)).isEqualTo(3);
+        assertThat(Money.divideHalfUp(-5, 2)).isEqualTo(-3);
+        assertThat(Money.divideHalfUp(5, -2)).isEqualTo(-3);
+        assertThat(Money.divideHalfUp(4, 3)).isEqualTo(1);
+        assertThat(Money.divideHalfUp(-4, 3)).isEqualTo(-1);
+        assertThat(Money.divideHalfUp(0, 7)).isZero();
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        for (long dividend = -1_000; dividend <= 1_000; dividend += 7) {
+            for (long divisor : new long[] {1, 2, 3, 7, 12, 22, 31, -4, 10_000}) {
+                long expected = BigDecimal.valueOf(dividend)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+                assertThat(Money.divideHalfUp(dividend, divisor))
+                    .as("%d / %d", dividend, divisor)
+                    .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void applyBasisPointsRoundsToThePaisa() {
+        // 12.5% of 1,000.00
+        assertThat(Money.applyBasisPoints(100_000, 1_250)).isEqualTo(12_500);
+        // 50% of one paisa rounds up, 33.33% of three paise comes to one
+        assertThat(Money.applyBasisPoints(1, 5_000)).isEqualTo(1);
+        assertThat(Money.applyBasisPoints(3, 3_333)).isEqualTo(1);
+        // 0.75% ESI on 21,000.00
+        assertThat(Money.applyBasisPoints(2_100_000, 75)).isEqualTo(15_750);
+    }
+
+    @Test
+    void applyBasisPointsFailsInsteadOfOverflowing() {
+        assertThatThrownBy(() -> Money.applyBasisPoints(Long.MAX_VALUE / 2, 10_000))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void convertsFromAndToDecimal() {
+        assertThat(Money.toPaise(new BigDecimal("10.005"))).isEqualTo(1_001);
+        assertThat(Money.toPaise(new BigDecimal("10.004"))).isEqualTo(1_000);
+        assertThat(Money.of(null)).isSameAs(Money.ZERO);
+        assertThat(Money.ofPaise(123_456).toBigDecimal()).isEqualByComparingTo("1234.56");
+        assertThat(Money.ofPaise(5).toString()).isEqualTo("0.05");
+    }
+}
@@ -0,0 +1,109 @@
+package com.payroll_management_system.repository;
+
+import com.payroll_management_system.model.PayrollRunShard;
+import com.payroll_management_system.model.PayrollRunStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the shard lease statements against MySQL. Leases are compared with the
+ * database clock, so expiry is simulated by moving lease_expires_at back.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PayrollRunShardRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final long LEASE_SECONDS = 60L;
+
+    @Autowired
+    private PayrollRunShardRepository shardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void onlyOneNodeClaimsALiveLease() {
+        Long id = queuedShard(0).getId();
+
+        assertThat(shardRepository.claim(id, "node-a", LEASE_SECONDS)).isEqualTo(1);
+        assertThat(shardRepository.claim(id, "node-b", LEASE_SECONDS)).isZero();
+
+        assertThat(column(id, "owner", String.class)).isEqualTo("node-a");
+        assertThat(column(id, "status", String.class)).isEqualTo("RUNNING");
+        assertThat(column(id, "attempts", Integer.class)).isEqualTo(1);
+        assertThat(column(id, "lease_expires_at > NOW() + INTERVAL 30 SECOND", Boolean.class)).isTrue();
+        assertThat(shardRepository.findClaimable(10)).extracting(PayrollRunShard::getId).doesNotContain(id);
+    }
+
+    @Test
+    void expiredLeaseIsClaimableByAnotherNode() {
+        Long id = queuedShard(0).getId();
+        shardRepository.claim(id, "node-a", LEASE_SECONDS);
+        expireLease(id);
+
+        assertThat(shardRepository.findClaimable(10)).extracting(PayrollRunShard::getId).contains(id);
+        assertThat(shardRepository.claim(id, "node-b", LEASE_SECONDS)).isEqualTo(1);
+        assertThat(column(id, "owner", String.class)).isEqualTo("node-b");
+        assertThat(column(id, "attempts", Integer.class)).isEqualTo(2);
+
+        // The old owner lost the shard and can no longer renew or finish it
+        assertThat(shardRepository.heartbeat("node-a", LEASE_SECONDS)).isZero();
+        assertThat(shardRepository.finish(id, "node-a", PayrollRunStatus.COMPLETED.name())).isZero();
+    }
+
+    @Test
+    void heartbeatExtendsEveryLeaseOfTheOwner() {
+        Long first = queuedShard(0).getId();
+        Long second = queuedShard(1).getId();
+        shardRepository.claim(first, "node-a", 1L);
+        shardRepository.claim(second, "node-a", 1L);
+
+        assertThat(shardRepository.heartbeat("node-a", LEASE_SECONDS)).isEqualTo(2);
+        assertThat(column(first, "lease_expires_at > NOW() + INTERVAL 30 SECOND", Boolean.class)).isTrue();
+        assertThat(column(second, "lease_expires_at > NOW() + INTERVAL 30 SECOND", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void finishedShardIsNeverClaimedAgain() {
+        Long id = queuedShard(0).getId();
+        shardRepository.claim(id, "node-a", LEASE_SECONDS);
+
+        assertThat(shardRepository.finish(id, "node-a", PayrollRunStatus.COMPLETED.name())).isEqualTo(1);
+        assertThat(column(id, "status", String.class)).isEqualTo("COMPLETED");
+        assertThat(column(id, "lease_expires_at", Object.class)).isNull();
+        assertThat(shardRepository.findClaimable(10)).extracting(PayrollRunShard::getId).doesNotContain(id);
+        assertThat(shardRepository.claim(id, "node-b", LEASE_SECONDS)).isZero();
+    }
+
+    private PayrollRunShard queuedShard(int index) {
+        PayrollRunShard shard = new PayrollRunShard();
+        shard.setRunId(1L);
+        shard.setShardIndex(index);
+        shard.setFromEmployeeId(index * 100L + 1);
+        shard.setToEmployeeId(index * 100L + 100);
+        return shardRepository.saveAndFlush(shard);
+    }
+
+    private void expireLease(Long id) {
+        jdbcTemplate.update("UPDATE payroll_run_shards SET lease_expires_at = NOW() - INTERVAL 1 SECOND WHERE id = ?", id);
+    }
+
+    // Read straight from the table; the native updates bypass the persistence context
+    private <T> T column(Long id, String expression, Class<T> type) {
+        return jdbcTemplate.queryForObject("SELECT " + expression + " FROM payroll_run_shards WHERE id = ?", type, id);
+    }
+}
@@ -0,0 +1,84 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Attendance;
+import com.payroll_management_system.model.AttendanceStatus;
+import com.payroll_management_system.model.LeaveRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceDayIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 10);
+    private static final LocalDate END = LocalDate.of(2024, 1, 16);
+
+    @Test
+    void countsAbsentAndMissingWorkingDaysAsTwoAndHalfDaysAsOne() {
+        List<Attendance> attendances = List.of(
+            attendance(START, AttendanceStatus.PRESENT),
+            attendance(START.plusDays(1), AttendanceStatus.HALF_DAY),
+            attendance(START.plusDays(2), AttendanceStatus.ABSENT));
+        // Day offsets 3 and 4 are off, 5 and 6 have no attendance at all
+        AttendanceDayIndex index = AttendanceDayIndex.build(attendances, List.of(), weekdays(), START, END);
+
+        assertThat(index.unpaidAbsenceHalfDays()).isEqualTo(1 + 2 + 2 + 2);
+    }
+
+    @Test
+    void firstRowOfADayWins() {
+        List<Attendance> attendances = List.of(
+            attendance(START, AttendanceStatus.PRESENT),
+            attendance(START, AttendanceStatus.ABSENT));
+        BitSet onlyFirstDay = new BitSet();
+        onlyFirstDay.set(0);
+
+        assertThat(AttendanceDayIndex.build(attendances, List.of(), onlyFirstDay, START, END)
+            .unpaidAbsenceHalfDays()).isZero();
+    }
+
+    @Test
+    void leaveCoversWorkingDaysAndIsClippedToThePeriod() {
+        LeaveRequest leave = new LeaveRequest();
+        leave.setStartDate(START.plusDays(5));
+        leave.setEndDate(END.plusDays(10));
+
+        AttendanceDayIndex index = AttendanceDayIndex.build(
+            List.of(attendance(START, AttendanceStatus.PRESENT), attendance(START.plusDays(1), AttendanceStatus.PRESENT),
+                attendance(START.plusDays(2), AttendanceStatus.PRESENT)),
+            List.of(leave), weekdays(), START, END);
+
+        assertThat(index.unpaidAbsenceHalfDays()).isZero();
+    }
+
+    @Test
+    void ignoresRowsOutsideThePeriodAndTreatsMissingStatusAsPresent() {
+        List<Attendance> attendances = List.of(
+            attendance(START.minusDays(1), AttendanceStatus.ABSENT),
+            attendance(END.plusDays(1), AttendanceStatus.ABSENT),
+            attendance(START, null));
+        BitSet onlyFirstDay = new BitSet();
+        onlyFirstDay.set(0);
+
+        assertThat(AttendanceDayIndex.build(attendances, List.of(), onlyFirstDay, START, END)
+            .unpaidAbsenceHalfDays()).isZero();
+    }
+
+    // Wednesday 10th to Tuesday 16th with the weekend off
+    private static BitSet weekdays() {
+        BitSet mask = new BitSet();
+        mask.set(0, 3);
+        mask.set(5, 7);
+        return mask;
+    }
+
+    private static Attendance attendance(LocalDate day, AttendanceStatus status) {
+        Attendance attendance = new Attendance();
+        attendance.setDate(day.atTime(9, 0));
+        attendance.setStatus(status);
+        return attendance;
+    }
+}
@@ -0,0 +1,138 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.Money;
+import com.payroll_management_system.model.Payroll;
+import com.payroll_management_system.model.PayrollYtd;
+import com.payroll_management_system.repository.PayrollRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the YTD upsert against MySQL, since ON DUPLICATE KEY UPDATE and
+ * GREATEST have no portable in-memory equivalent.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PayrollYtdService.class)
+class PayrollYtdServiceTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final long EMPLOYEE = 1L;
+    private static final LocalDate APRIL = LocalDate.of(2024, 4, 1);
+    private static final LocalDate MAY = LocalDate.of(2024, 5, 1);
+    private static final LocalDate JUNE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private PayrollYtdService ytdService;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertEmployee() {
+        jdbcTemplate.update("INSERT INTO employees (id, full_name, email, employee_id, phone_number, department, " +
+            "designation) VALUES (?, 'Test', 'test@example.com', ?, '9999999999', 'ENG', 'Engineer')", EMPLOYEE, EMPLOYEE);
+    }
+
+    @Test
+    void addsEachNewPayrollToTheYearsTotals() {
+        ytdService.recordNew(save(APRIL, 5_000_000L, 400_000L));
+        ytdService.recordNew(save(MAY, 6_000_000L, 500_000L));
+
+        PayrollYtd ytd = ytdService.getYtd(EMPLOYEE, 2024).orElseThrow();
+        assertThat(ytd.getGrossSalary()).isEqualTo(Money.ofPaise(11_000_000L));
+        assertThat(ytd.getTaxDeduction()).isEqualTo(Money.ofPaise(900_000L));
+        assertThat(ytd.getNetSalary()).isEqualTo(Money.ofPaise(10_100_000L));
+        assertThat(ytd.getPayrollCount()).isEqualTo(2);
+        assertThat(ytd.getLatestPayPeriodStart()).isEqualTo(MAY);
+    }
+
+    @Test
+    void anEarlierPeriodPaidLateKeepsTheLatestPeriod() {
+        ytdService.recordNew(save(MAY, 6_000_000L, 500_000L));
+        ytdService.recordNew(save(APRIL, 5_000_000L, 400_000L));
+
+        assertThat(ytdService.getYtd(EMPLOYEE, 2024).orElseThrow().getLatestPayPeriodStart()).isEqualTo(MAY);
+    }
+
+    @Test
+    void recalculationAddsOnlyTheDifference() {
+        Payroll april = save(APRIL, 5_000_000L, 400_000L);
+        ytdService.recordNew(april);
+        long[] before = PayrollAmounts.of(april);
+        april.setGrossSalary(Money.ofPaise(5_500_000L));
+        april.setNetSalary(Money.ofPaise(5_100_000L));
+        ytdService.recordRecalculation(payrollRepository.saveAndFlush(april), before);
+
+        PayrollYtd ytd = ytdService.getYtd(EMPLOYEE, 2024).orElseThrow();
+        assertThat(ytd.getGrossSalary()).isEqualTo(Money.ofPaise(5_500_000L));
+        assertThat(ytd.getNetSalary()).isEqualTo(Money.ofPaise(5_100_000L));
+        assertThat(ytd.getPayrollCount()).isEqualTo(1);
+    }
+
+    @Test
+    void priorTotalsUseTheRunningTotalsOrFallBackToPayrollHistory() {
+        Payroll april = save(APRIL, 5_000_000L, 400_000L);
+        Payroll may = save(MAY, 6_000_000L, 500_000L);
+        ytdService.recordNew(april);
+        ytdService.recordNew(may);
+
+        // Totals already stop before June
+        assertThat(ytdService.priorTotals(EMPLOYEE, JUNE, null))
+            .isEqualTo(new PayrollYtdService.PriorTotals(11_000_000L, 900_000L, 10_100_000L));
+        // May is the latest period in them, so its own amounts come off
+        assertThat(ytdService.priorTotals(EMPLOYEE, MAY, PayrollAmounts.of(may)))
+            .isEqualTo(new PayrollYtdService.PriorTotals(5_000_000L, 400_000L, 4_600_000L));
+        // April is behind the totals: summed from the payrolls before it
+        assertThat(ytdService.priorTotals(EMPLOYEE, APRIL, PayrollAmounts.of(april)))
+            .isEqualTo(PayrollYtdService.PriorTotals.NONE);
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalTotals() {
+        ytdService.recordNew(save(APRIL, 5_000_000L, 400_000L));
+        ytdService.recordNew(save(MAY, 6_000_000L, 500_000L));
+        PayrollYtd incremental = ytdService.getYtd(EMPLOYEE, 2024).orElseThrow();
+
+        assertThat(ytdService.rebuild(2024)).isEqualTo(1);
+        PayrollYtd rebuilt = ytdService.getYtd(EMPLOYEE, 2024).orElseThrow();
+        assertThat(rebuilt)
+            .usingRecursiveComparison()
+            .ignoringFields("id", "updatedAt")
+            .isEqualTo(incremental);
+    }
+
+    private Payroll save(LocalDate periodStart, long grossPaise, long taxPaise) {
+        Payroll payroll = new Payroll();
+        payroll.setEmployeeId(EMPLOYEE);
+        payroll.setPayPeriodStart(periodStart);
+        payroll.setPayPeriodEnd(periodStart.plusMonths(1).minusDays(1));
+        payroll.setGrossSalary(Money.ofPaise(grossPaise));
+        payroll.setTaxDeduction(Money.ofPaise(taxPaise));
+        payroll.setProvidentFund(Money.ZERO);
+        payroll.setEmployeeStateInsurance(Money.ZERO);
+        payroll.setTotalDeductions(Money.ofPaise(taxPaise));
+        payroll.setNetSalary(Money.ofPaise(grossPaise - taxPaise));
+        return payrollRepository.saveAndFlush(payroll);
+    }
+}
@@ -0,0 +1,102 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.model.SalaryRevision;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryTimelineTest {
+
+    private static final LocalDate JUNE = LocalDate.of(2024, 6, 1);
+
+    @Test
+    void usesTheFallbackWithoutRevisions() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(), 2_500_000L);
+
+        assertThat(timeline.salaryOn(JUNE)).isEqualTo(2_500_000L);
+        assertThat(timeline.prorate(days(0, 30), JUNE, 30)).isEqualTo(2_500_000L);
+    }
+
+    @Test
+    void salaryOnPicksTheLatestRevisionNotAfterTheDate() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(JUNE, "30000.00"),
+            revision(JUNE.plusDays(15), "45000.00")), 0L);
+
+        assertThat(timeline.salaryOn(JUNE.minusDays(1))).isEqualTo(3_000_000L);
+        assertThat(timeline.salaryOn(JUNE.plusDays(14))).isEqualTo(3_000_000L);
+        assertThat(timeline.salaryOn(JUNE.plusDays(15))).isEqualTo(4_500_000L);
+        assertThat(timeline.salaryOn(JUNE.plusMonths(6))).isEqualTo(4_500_000L);
+    }
+
+    @Test
+    void periodWithoutARevisionInsideItIsNotProrated() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(JUNE.minusMonths(2), "30000.00"),
+            revision(JUNE.plusMonths(1), "45000.00")), 0L);
+
+        assertThat(timeline.prorate(days(0, 30), JUNE, 30)).isEqualTo(3_000_000L);
+        assertThat(timeline.prorate(new BitSet(), JUNE, 0)).isEqualTo(3_000_000L);
+    }
+
+    @Test
+    void revisionInsideThePeriodSplitsItByWorkingDays() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(JUNE.minusMonths(2), "30000.00"),
+            revision(JUNE.plusDays(15), "45000.00")), 0L);
+
+        // 15 days at 30,000 and 15 days at 45,000
+        assertThat(timeline.prorate(days(0, 30), JUNE, 30)).isEqualTo(3_750_000L);
+    }
+
+    @Test
+    void onlyWorkingDaysCountTowardsEachSegment() {
+        LocalDate monday = LocalDate.of(2024, 6, 3);
+        BitSet weekdays = days(0, 5);
+        weekdays.or(days(7, 12));
+        // Effective on the Saturday: five working days on either side
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(monday.minusMonths(1), "20000.00"),
+            revision(monday.plusDays(5), "30000.00")), 0L);
+
+        assertThat(timeline.prorate(weekdays, monday, 10)).isEqualTo(2_500_000L);
+    }
+
+    @Test
+    void roundsEachSegmentHalfUp() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(JUNE, "10000.01"),
+            revision(JUNE.plusDays(10), "20000.00"),
+            revision(JUNE.plusDays(20), "30000.00")), 0L);
+
+        // 333,333.67 + 666,666.67 + 1,000,000 paise, each rounded on its own
+        assertThat(timeline.prorate(days(0, 30), JUNE, 30)).isEqualTo(2_000_001L);
+    }
+
+    @Test
+    void revisionAfterTheLastWorkingDayIsIgnored() {
+        SalaryTimeline timeline = SalaryTimeline.of(List.of(
+            revision(JUNE.minusMonths(2), "30000.00"),
+            revision(JUNE.plusDays(29), "45000.00")), 0L);
+
+        assertThat(timeline.prorate(days(0, 28), JUNE, 28)).isEqualTo(3_000_000L);
+    }
+
+    private static BitSet days(int fromInclusive, int toExclusive) {
+        BitSet mask = new BitSet();
+        mask.set(fromInclusive, toExclusive);
+        return mask;
+    }
+
+    private static SalaryRevision revision(LocalDate effectiveFrom, String basicSalary) {
+        SalaryRevision revision = new SalaryRevision();
+        revision.setEffectiveFrom(effectiveFrom);
+        revision.setBasicSalary(new BigDecimal(basicSalary));
+        return revision;
+    }
+}
@@ -0,0 +1,121 @@
+package com.payroll_management_system.service;
+
+import com.payroll_management_system.config.WorkingCalendarProperties;
+import com.payroll_management_system.model.Holiday;
+import com.payroll_management_system.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkingDayCalendarTest {
+
+    private final List<Holiday> holidays = new ArrayList<>();
+    private WorkingDayCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        HolidayRepository holidayRepository = mock(HolidayRepository.class);
+        when(holidayRepository.findByLocationAndHolidayDateBetween(anyString(), any(), any())).thenAnswer(call -> {
+            String location = call.getArgument(0);
+            LocalDate from = call.getArgument(1);
+            LocalDate to = call.getArgument(2);
+            return holidays.stream()
+                .filter(h -> h.getLocation().equals(location)
+                    && !h.getHolidayDate().isBefore(from) && !h.getHolidayDate().isAfter(to))
+                .toList();
+        });
+        WorkingCalendarProperties properties = new WorkingCalendarProperties();
+        properties.getLocationWeeklyOffs().put("PUNE", EnumSet.of(DayOfWeek.SUNDAY));
+        calendar = new WorkingDayCalendar(holidayRepository, properties);
+
+        holiday("DEFAULT", LocalDate.of(2024, 1, 26));
+        holiday("PUNE", LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void skipsWeeklyOffsAndHolidays() {
+        // January 2024 has 23 weekdays, one of them Republic Day
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).isEqualTo(22);
+        assertThat(calendar.isWorkingDay(LocalDate.of(2024, 1, 26))).isFalse();
+        assertThat(calendar.isWorkingDay(LocalDate.of(2024, 1, 27))).isFalse();
+    }
+
+    @Test
+    void countsAcrossYearBoundaries() {
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3))).isEqualTo(5);
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31)))
+            .isEqualTo(naiveCount(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31)));
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 31))).isZero();
+    }
+
+    @Test
+    void popcountRangesMatchDayByDayCount() {
+        LocalDate yearStart = LocalDate.of(2024, 1, 1);
+        // Ranges starting and ending on both sides of the 64-day word boundaries
+        int[] offsets = {0, 1, 62, 63, 64, 65, 127, 128, 129, 191, 192, 300, 364, 365};
+        for (int from : offsets) {
+            for (int to : offsets) {
+                if (to < from) {
+                    continue;
+                }
+                LocalDate start = yearStart.plusDays(from);
+                LocalDate end = yearStart.plusDays(to);
+                assertThat(calendar.workingDaysBetween(start, end))
+                    .as("%s to %s", start, end)
+                    .isEqualTo(naiveCount(start, end));
+            }
+        }
+    }
+
+    @Test
+    void usesTheCalendarOfTheLocation() {
+        LocalDate saturday = LocalDate.of(2024, 1, 13);
+        BitSet pune = calendar.workingDayMask("PUNE", saturday, saturday.plusDays(2));
+        BitSet fallback = calendar.workingDayMask(null, saturday, saturday.plusDays(2));
+
+        // Saturday works in Pune, Sunday is off and Monday is a local holiday
+        assertThat(pune.stream().toArray()).containsExactly(0);
+        assertThat(fallback.stream().toArray()).containsExactly(2);
+    }
+
+    @Test
+    void maskHasOneBitPerWorkingDay() {
+        LocalDate start = LocalDate.of(2024, 12, 10);
+        LocalDate end = LocalDate.of(2025, 1, 10);
+        BitSet mask = calendar.workingDayMask(start, end);
+
+        assertThat(mask.cardinality()).isEqualTo(calendar.workingDaysBetween(start, end));
+        for (int offset = 0; offset <= end.toEpochDay() - start.toEpochDay(); offset++) {
+            assertThat(mask.get(offset)).isEqualTo(calendar.isWorkingDay(start.plusDays(offset)));
+        }
+    }
+
+    private int naiveCount(LocalDate start, LocalDate end) {
+        int count = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (calendar.isWorkingDay(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void holiday(String location, LocalDate date) {
+        Holiday holiday = new Holiday();
+        holiday.setLocation(location);
+        holiday.setHolidayDate(date);
+        holidays.add(holiday);
+    }
+}
@@ -0,0 +1,113 @@
+package com.payroll_management_system.statutory;
+
+import com.payroll_management_system.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledStatutoryRulesTest {
+
+    private static final long RUPEE = 100L;
+
+    // New-regime style slabs: 0-3L nil, 3-7L 5%, 7-10L 10%, 10-12L 15%, 12-15L 20%, above 30%
+    private static final long[] SLAB_FROM = {
+        0L, 300_000 * RUPEE, 700_000 * RUPEE, 1_000_000 * RUPEE, 1_200_000 * RUPEE, 1_500_000 * RUPEE
+    };
+    private static final long[] SLAB_RATE = {0L, 500L, 1_000L, 1_500L, 2_000L, 3_000L};
+
+    private final CompiledStatutoryRules rules = new CompiledStatutoryRules("test", 2024, "NEW",
+        SLAB_FROM, SLAB_RATE,
+        75_000 * RUPEE, 700_000 * RUPEE, 25_000 * RUPEE, 400L,
+        1_200L, 15_000 * RUPEE,
+        75L, 21_000 * RUPEE);
+
+    @Test
+    void annualTaxAddsUpTheSlabsAndCess() {
+        // 20,000 + 30,000 plus 4% cess
+        assertThat(rules.annualTax(1_000_000 * RUPEE)).isEqualTo(52_000 * RUPEE);
+        // 20,000 + 30,000 + 30,000 + 60,000 + 30,000 plus 4% cess
+        assertThat(rules.annualTax(1_600_000 * RUPEE)).isEqualTo(176_800 * RUPEE);
+        assertThat(rules.annualTax(0L)).isZero();
+        assertThat(rules.annualTax(-1L)).isZero();
+    }
+
+    @Test
+    void rebateAppliesUpToItsLimitOnly() {
+        assertThat(rules.annualTax(700_000 * RUPEE)).isZero();
+        // One rupee more loses the rebate: 20,000.10 plus cess
+        assertThat(rules.annualTax(700_001 * RUPEE)).isEqualTo(2_080_010L);
+    }
+
+    @Test
+    void slabLookupMatchesALinearWalkAtEveryBoundary() {
+        for (long boundary : SLAB_FROM) {
+            for (long income = boundary - 2; income <= boundary + 2; income++) {
+                assertThat(rules.annualTax(income)).as("income %d", income).isEqualTo(linearTax(income));
+            }
+        }
+        for (long income = 0; income <= 2_000_000 * RUPEE; income += 987_654L) {
+            assertThat(rules.annualTax(income)).as("income %d", income).isEqualTo(linearTax(income));
+        }
+    }
+
+    @Test
+    void monthlyTaxSpreadsTheProjectedAnnualTax() {
+        // 12,00,000 - 75,000 standard deduction: 68,750 plus cess, over 12 months
+        assertThat(rules.monthlyTax(100_000 * RUPEE)).isEqualTo(595_833L);
+        assertThat(rules.monthlyTax(100_000 * RUPEE, 0L, 0L, 12)).isEqualTo(rules.monthlyTax(100_000 * RUPEE));
+    }
+
+    @Test
+    void monthlyTaxProjectsFromYearToDate() {
+        long gross = 100_000 * RUPEE;
+        long flat = rules.monthlyTax(gross);
+        // Three months paid at the same salary: nothing changes
+        assertThat(rules.monthlyTax(gross, 3 * gross, 3 * flat, 9)).isEqualTo(flat);
+
+        // A raise after three months: the rest of the year withholds exactly what is still due
+        long raised = 150_000 * RUPEE;
+        long withheld = rules.monthlyTax(raised, 3 * gross, 3 * flat, 9);
+        long annual = rules.annualTax(3 * gross + 9 * raised - 75_000 * RUPEE);
+        assertThat(3 * flat + 9 * withheld).isBetween(annual - 9, annual + 9);
+        assertThat(withheld).isLessThan(rules.monthlyTax(raised));
+    }
+
+    @Test
+    void monthlyTaxNeverRefundsOverWithheldTax() {
+        assertThat(rules.monthlyTax(10_000 * RUPEE, 50_000 * RUPEE, 100_000 * RUPEE, 6)).isZero();
+        assertThat(rules.monthlyTax(100_000 * RUPEE, 0L, 0L, 0)).isEqualTo(rules.monthlyTax(100_000 * RUPEE, 0L, 0L, 1));
+    }
+
+    @Test
+    void providentFundIsCappedAndInsuranceStopsAboveTheThreshold() {
+        assertThat(rules.providentFund(40_000 * RUPEE)).isEqualTo(1_800 * RUPEE);
+        assertThat(rules.providentFund(10_000 * RUPEE)).isEqualTo(1_200 * RUPEE);
+        assertThat(rules.employeeStateInsurance(20_000 * RUPEE)).isEqualTo(150 * RUPEE);
+        assertThat(rules.employeeStateInsurance(22_000 * RUPEE)).isZero();
+    }
+
+    @Test
+    void monthsRemainingCountsTheCurrentMonth() {
+        assertThat(FinancialYear.monthsRemaining(LocalDate.of(2024, 4, 10))).isEqualTo(12);
+        assertThat(FinancialYear.monthsRemaining(LocalDate.of(2025, 1, 10))).isEqualTo(3);
+        assertThat(FinancialYear.monthsRemaining(LocalDate.of(2025, 3, 10))).isEqualTo(1);
+    }
+
+    // Reference: tax of every slab the income reaches, then rebate and cess
+    private static long linearTax(long income) {
+        if (income <= 0) {
+            return 0L;
+        }
+        long tax = 0L;
+        for (int i = 0; i < SLAB_FROM.length && income > SLAB_FROM[i]; i++) {
+            long upper = i + 1 < SLAB_FROM.length ? Math.min(income, SLAB_FROM[i + 1]) : income;
+            tax += Money.applyBasisPoints(upper - SLAB_FROM[i], SLAB_RATE[i]);
+        }
+        if (income <= 700_000 * RUPEE) {
+            tax = Math.max(0L, tax - 25_000 * RUPEE);
+        }
+        return tax + Money.applyBasisPoints(tax, 400L);
+    }
+}
@@ -20,6 +20,7 @@ import com.example.auth.dto.EmployeeUpdateDto;
 import com.example.auth.exception.ApiException;
 import com.example.auth.model.Employee;
 import com.example.auth.model.EmployeeRole;
+import com.example.auth.model.SalaryRevision;
 import com.example.auth.service.EmployeeService;
 
 import jakarta.validation.Valid;
@@ -63,6 +64,11 @@ public class HRController {
         return ResponseEntity.ok(updatedEmployee);
     }
 
+    @GetMapping("/employee/{employeeId}/salary-history")
+    public ResponseEntity<List<SalaryRevision>> getSalaryHistory(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(employeeService.getSalaryHistory(employeeId));
+    }
+
     @GetMapping("/getAllEmployees")
     public ResponseEntity<List<Employee>> getAllEmployees() {
         return ResponseEntity.ok(employeeService.getAllEmployees());
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -58,6 +59,15 @@ public class EmployeeRegistrationDto {
 
     private BigDecimal basicSalary;
 
+    @Pattern(regexp = "^[0-9A-Z]{6,34}$", message = "Invalid bank account number")
+    private String bankAccountNumber;
+
+    @Pattern(regexp = "^[A-Z]{4}0[A-Z0-9]{6}$", message = "Invalid IFSC code")
+    private String bankIfsc;
+
+    @Size(max = 50, message = "Work location must be at most 50 characters")
+    private String workLocation;
+
     // HR and Team references are handled by service layer
     private Long hrId;
     private Long teamId;
@@ -79,6 +89,9 @@ public class EmployeeRegistrationDto {
         employee.setDepartment(this.department);
         employee.setDesignation(this.designation);
         employee.setBasicSalary(this.basicSalary);
+        employee.setBankAccountNumber(this.bankAccountNumber);
+        employee.setBankIfsc(this.bankIfsc);
+        employee.setWorkLocation(this.workLocation);
         return employee;
     }
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.auth.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import com.example.auth.model.Employee;
 import com.example.auth.model.EmployeeStatus;
@@ -10,6 +11,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -33,6 +35,18 @@ public class EmployeeUpdateDto {
 	@PositiveOrZero(message = "Basic salary cannot be negative")
 	@Column(precision = 10, scale = 2)
 	private BigDecimal basicSalary;
+
+	// Date the new basic salary applies from; defaults to the day of the update
+	private LocalDate salaryEffectiveFrom;
+
+	@Pattern(regexp = "^[0-9A-Z]{6,34}$", message = "Invalid bank account number")
+	private String bankAccountNumber;
+
+	@Pattern(regexp = "^[A-Z]{4}0[A-Z0-9]{6}$", message = "Invalid IFSC code")
+	private String bankIfsc;
+
+	@Size(max = 50, message = "Work location must be at most 50 characters")
+	private String workLocation;
 	
 	public Employee toEmployee() {
         Employee employee = new Employee();
@@ -40,6 +54,9 @@ public class EmployeeUpdateDto {
         employee.setDepartment(this.department);
         employee.setDesignation(this.designation);
         employee.setBasicSalary(this.basicSalary);
+        employee.setBankAccountNumber(this.bankAccountNumber);
+        employee.setBankIfsc(this.bankIfsc);
+        employee.setWorkLocation(this.workLocation);
         return employee;
     }
 }
@@ -94,6 +94,20 @@ public class Employee {
 	@PositiveOrZero(message = "Basic salary cannot be negative")
 	@Column(precision = 10, scale = 2)
 	private BigDecimal basicSalary;
+
+	// Salary disbursement account; optional until payroll is paid by bank transfer
+	@Size(max = 34, message = "Bank account number must be at most 34 characters")
+	@Column(name = "bank_account_number", length = 34)
+	private String bankAccountNumber;
+
+	@Pattern(regexp = "^[A-Z]{4}0[A-Z0-9]{6}$", message = "Invalid IFSC code")
+	@Column(name = "bank_ifsc", length = 11)
+	private String bankIfsc;
+
+	// Holiday calendar of the employee's office; the default calendar applies when empty
+	@Size(max = 50, message = "Work location must be at most 50 characters")
+	@Column(name = "work_location", length = 50)
+	private String workLocation;
 	
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "hr_id")
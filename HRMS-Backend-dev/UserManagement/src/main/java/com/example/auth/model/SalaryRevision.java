@@ -0,0 +1,39 @@
+package com.example.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Basic salary of an employee from a date onwards. Payroll prorates a pay period
+ * across the revisions that fall inside it.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "salary_revisions",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_salary_revision_employee_date", columnNames = {"employee_id", "effective_from"})
+    })
+public class SalaryRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Primary key of the employee, as used by payroll
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal basicSalary;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.example.auth.repository;
+
+import com.example.auth.model.SalaryRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SalaryRevisionRepository extends JpaRepository<SalaryRevision, Long> {
+    boolean existsByEmployeeId(Long employeeId);
+    Optional<SalaryRevision> findByEmployeeIdAndEffectiveFrom(Long employeeId, LocalDate effectiveFrom);
+    List<SalaryRevision> findByEmployeeIdOrderByEffectiveFromDesc(Long employeeId);
+    long deleteByEmployeeIdAndEffectiveFromAfter(Long employeeId, LocalDate effectiveFrom);
+
+    // Revision in effect on a date, for every employee whose basic salary does not show it yet
+    @Query("SELECT r FROM SalaryRevision r, Employee e WHERE e.id = r.employeeId " +
+           "AND r.effectiveFrom = (SELECT MAX(r2.effectiveFrom) FROM SalaryRevision r2 " +
+           "WHERE r2.employeeId = r.employeeId AND r2.effectiveFrom <= :date) " +
+           "AND (e.basicSalary IS NULL OR e.basicSalary <> r.basicSalary)")
+    List<SalaryRevision> findUnappliedRevisions(@Param("date") LocalDate date);
+}
@@ -2,7 +2,9 @@ package com.example.auth.service;
 
 import com.example.auth.model.Employee;
 import com.example.auth.model.EmployeeStatus;
+import com.example.auth.model.SalaryRevision;
 import com.example.auth.repository.EmployeeRepository;
+import com.example.auth.repository.SalaryRevisionRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -18,6 +20,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,14 +33,17 @@ public class EmployeeService implements UserDetailsService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmployeeValidationService validationService;
+    private final SalaryRevisionRepository salaryRevisionRepository;
 
     public EmployeeService(
             EmployeeRepository employeeRepository,
             PasswordEncoder passwordEncoder,
-            EmployeeValidationService validationService) {
+            EmployeeValidationService validationService,
+            SalaryRevisionRepository salaryRevisionRepository) {
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.validationService = validationService;
+        this.salaryRevisionRepository = salaryRevisionRepository;
     }
 
     @Override
@@ -72,7 +80,13 @@ public class EmployeeService implements UserDetailsService {
             employee.setStatus(EmployeeStatus.ACTIVE);
         }
 
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        if (saved.getBasicSalary() != null) {
+            saveSalaryRevision(saved.getId(),
+                saved.getDateOfJoining() != null ? saved.getDateOfJoining() : LocalDate.now(),
+                saved.getBasicSalary());
+        }
+        return saved;
     }
     
     @Transactional
@@ -91,12 +105,89 @@ public class EmployeeService implements UserDetailsService {
             existingEmployee.setDesignation(updatedEmployee.getDesignation());
         } 
         if (updatedEmployee.getBasicSalary() != null) {
-            existingEmployee.setBasicSalary(updatedEmployee.getBasicSalary());
+            reviseSalary(existingEmployee, updatedEmployee.getBasicSalary(), updatedEmployee.getSalaryEffectiveFrom());
+        }
+        if (updatedEmployee.getBankAccountNumber() != null) {
+            existingEmployee.setBankAccountNumber(updatedEmployee.getBankAccountNumber());
+        }
+        if (updatedEmployee.getBankIfsc() != null) {
+            existingEmployee.setBankIfsc(updatedEmployee.getBankIfsc());
+        }
+        if (updatedEmployee.getWorkLocation() != null) {
+            existingEmployee.setWorkLocation(updatedEmployee.getWorkLocation());
         }
         return employeeRepository.save(existingEmployee);
     }
  
 
+    /**
+     * Record a salary change as an effective-dated revision. Employees created
+     * before revisions existed first get a revision holding their current salary.
+     * Revisions scheduled after the new one are superseded by it, so resubmitting
+     * the salary in effect cancels a pending raise. The basic salary on the
+     * employee follows once the revision is in effect, see {@link #applyDueSalaryRevisions}.
+     */
+    private void reviseSalary(Employee employee, BigDecimal newSalary, LocalDate effectiveFrom) {
+        LocalDate effective = effectiveFrom != null ? effectiveFrom : LocalDate.now();
+        BigDecimal currentSalary = employee.getBasicSalary();
+        List<SalaryRevision> revisions = salaryRevisionRepository.findByEmployeeIdOrderByEffectiveFromDesc(employee.getId());
+
+        // Salary that would apply on the effective date without this change
+        BigDecimal salaryOnDate = revisions.stream()
+            .filter(r -> !r.getEffectiveFrom().isAfter(effective))
+            .map(SalaryRevision::getBasicSalary)
+            .findFirst()
+            .orElse(currentSalary);
+
+        salaryRevisionRepository.deleteByEmployeeIdAndEffectiveFromAfter(employee.getId(), effective);
+        if (salaryOnDate == null || salaryOnDate.compareTo(newSalary) != 0) {
+            if (currentSalary != null && revisions.isEmpty()) {
+                LocalDate joined = employee.getDateOfJoining();
+                saveSalaryRevision(employee.getId(),
+                    joined != null && joined.isBefore(effective) ? joined : effective.minusDays(1),
+                    currentSalary);
+            }
+            saveSalaryRevision(employee.getId(), effective, newSalary);
+        }
+
+        if (!effective.isAfter(LocalDate.now())) {
+            employee.setBasicSalary(newSalary);
+        }
+    }
+
+    /**
+     * Copy revisions that have come into effect onto the employees' basic salary
+     *
+     * @param date Day up to which revisions are in effect
+     * @return Number of employees updated
+     */
+    public int applyDueSalaryRevisions(LocalDate date) {
+        List<SalaryRevision> due = salaryRevisionRepository.findUnappliedRevisions(date);
+        for (SalaryRevision revision : due) {
+            employeeRepository.findById(revision.getEmployeeId())
+                .ifPresent(employee -> employee.setBasicSalary(revision.getBasicSalary()));
+        }
+        return due.size();
+    }
+
+    // A second revision on the same date replaces the first
+    private void saveSalaryRevision(Long employeePk, LocalDate effectiveFrom, BigDecimal basicSalary) {
+        SalaryRevision revision = salaryRevisionRepository
+            .findByEmployeeIdAndEffectiveFrom(employeePk, effectiveFrom)
+            .orElseGet(SalaryRevision::new);
+        revision.setEmployeeId(employeePk);
+        revision.setEffectiveFrom(effectiveFrom);
+        revision.setBasicSalary(basicSalary);
+        revision.setCreatedAt(LocalDateTime.now());
+        salaryRevisionRepository.save(revision);
+    }
+
+    public List<SalaryRevision> getSalaryHistory(Long employeeId) {
+        Employee employee = employeeRepository.findByEmployeeId(employeeId)
+            .orElseThrow(() -> new EntityNotFoundException("Employee not found with employeeId: " + employeeId));
+        return salaryRevisionRepository.findByEmployeeIdOrderByEffectiveFromDesc(employee.getId());
+    }
+
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
@@ -0,0 +1,32 @@
+package com.example.auth.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Brings employees' basic salary up to date with revisions that were recorded
+ * ahead of their effective date. Runs daily and catches up on any missed days.
+ */
+@Component
+public class SalaryRevisionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SalaryRevisionJob.class);
+
+    private final EmployeeService employeeService;
+
+    public SalaryRevisionJob(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Scheduled(cron = "${salary.revision.apply-cron:0 5 0 * * *}")
+    public void applyDueRevisions() {
+        int applied = employeeService.applyDueSalaryRevisions(LocalDate.now());
+        if (applied > 0) {
+            log.info("Applied {} salary revisions that came into effect", applied);
+        }
+    }
+}